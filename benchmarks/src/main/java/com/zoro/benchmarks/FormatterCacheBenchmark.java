@@ -0,0 +1,63 @@
+package com.zoro.benchmarks;
+
+import com.zoro.time.Zoro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程下通过非内置模式格式化，主要开销为模式缓存的查找。
+ * <p>模式数超过缓存容量（默认 256）时包含淘汰的开销</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class FormatterCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Patterns {
+
+        @Param({"16", "1024"})
+        public int count;
+
+        String[] patterns;
+        Zoro zoro;
+
+        @Setup
+        public void setup() {
+            patterns = new String[count];
+            for (int i = 0; i < count; i++) {
+                patterns[i] = "yyyy/MM/dd HH:mm:ss '" + i + "'";
+            }
+            zoro = Zoro.create(2021, 3, 14, 10, 15, 30, 123, Zoro.SHANG_HAI);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int index;
+    }
+
+    @Benchmark
+    public String format(Patterns patterns, Cursor cursor) {
+        int index = cursor.index;
+        cursor.index = index + 1 == patterns.count ? 0 : index + 1;
+        return patterns.zoro.format(patterns.patterns[index]);
+    }
+
+}
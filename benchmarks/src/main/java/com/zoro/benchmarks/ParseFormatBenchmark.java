@@ -0,0 +1,84 @@
+package com.zoro.benchmarks;
+
+import com.zoro.time.Zoro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内置模式的解析和格式化
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseFormatBenchmark {
+
+    @Param({Zoro.PURE_DATE_PATTERN, Zoro.PURE_DATETIME_PATTERN, Zoro.NORMAL_DATE_PATTERN,
+        Zoro.NORMAL_DATETIME_PATTERN, Zoro.TIME_PATTERN, Zoro.NORMAL_TIME_PATTERN, Zoro.ISO_DATETIME_PATTERN})
+    public String pattern;
+
+    private Zoro zoro;
+    private String text;
+    private byte[] bytes;
+    private StringBuilder builder;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        zoro = Zoro.create(2021, 3, 14, 10, 15, 30, 123, Zoro.SHANG_HAI);
+        text = zoro.format(pattern);
+        bytes = text.getBytes(StandardCharsets.US_ASCII);
+        builder = new StringBuilder(64);
+        buffer = ByteBuffer.allocate(64);
+    }
+
+    @Benchmark
+    public Zoro parse() {
+        return Zoro.parse(text, pattern);
+    }
+
+    @Benchmark
+    public Zoro parseBytes() {
+        return Zoro.parse(bytes, 0, bytes.length, pattern);
+    }
+
+    @Benchmark
+    public Zoro tryParse() {
+        return Zoro.tryParse(text, pattern);
+    }
+
+    @Benchmark
+    public String format() {
+        return zoro.format(pattern);
+    }
+
+    @Benchmark
+    public StringBuilder formatToBuilder() {
+        builder.setLength(0);
+        zoro.formatTo(pattern, builder);
+        return builder;
+    }
+
+    @Benchmark
+    public ByteBuffer formatToBuffer() {
+        buffer.clear();
+        zoro.formatTo(pattern, buffer);
+        return buffer;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.zoro.benchmarks;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.Range;
+import com.zoro.time.Zoro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按各单位迭代 {@link Range}，结果为每个元素的耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RangeBenchmark {
+
+    private static final int SIZE = 1000;
+
+    @Param({"YEAR", "MONTH", "DAY", "HOUR", "MINUTE", "SECOND"})
+    public DateUnit unit;
+
+    private Range range;
+
+    @Setup
+    public void setup() {
+        Zoro start = Zoro.create(1900, 1, 31, 10, 15, 30, 0, Zoro.PST);
+        Zoro end = start.clone();
+        switch (unit) {
+            case YEAR:
+                end.addYears(SIZE - 1);
+                break;
+            case MONTH:
+                end.addMonths(SIZE - 1);
+                break;
+            case DAY:
+                end.addDays(SIZE - 1);
+                break;
+            case HOUR:
+                end.addHours(SIZE - 1);
+                break;
+            case MINUTE:
+                end.addMinutes(SIZE - 1);
+                break;
+            default:
+                end.addSeconds(SIZE - 1);
+                break;
+        }
+        range = Zoro.range(start, end, unit);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void iterate(Blackhole blackhole) {
+        for (Zoro zoro : range) {
+            blackhole.consume(zoro);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void get(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(range.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.zoro.benchmarks;
+
+import com.zoro.time.Zoro;
+import com.zoro.time.ZoroCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 创建、比较、计算差值和逐分钟移动
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ZoroBenchmark {
+
+    @Param({"UTC", "Asia/Shanghai", "America/Los_Angeles"})
+    public String zoneId;
+
+    private ZoneId zone;
+    private long timestamp;
+    private Zoro start;
+    private Zoro end;
+    private Zoro walker;
+    private ZoroCursor cursor;
+
+    @Setup
+    public void setup() {
+        zone = ZoneId.of(zoneId);
+        timestamp = 1615716930123L;
+        start = Zoro.create(2021, 1, 31, 10, 15, 30, 123, zone);
+        end = Zoro.create(2023, 7, 4, 8, 0, 0, 0, zone);
+        walker = Zoro.create(start);
+        cursor = ZoroCursor.of(start);
+    }
+
+    @Benchmark
+    public Zoro create() {
+        return Zoro.create(timestamp, zone);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return start.compareTo(end);
+    }
+
+    @Benchmark
+    public long diffOfYears() {
+        return start.diffOfYears(end);
+    }
+
+    @Benchmark
+    public long diffOfMonths() {
+        return start.diffOfMonths(end);
+    }
+
+    @Benchmark
+    public long diffOfWeeks() {
+        return start.diffOfWeeks(end);
+    }
+
+    @Benchmark
+    public long diffOfDays() {
+        return start.diffOfDays(end);
+    }
+
+    @Benchmark
+    public long diffOfHours() {
+        return start.diffOfHours(end);
+    }
+
+    @Benchmark
+    public long diffOfMinutes() {
+        return start.diffOfMinutes(end);
+    }
+
+    @Benchmark
+    public long diffOfSeconds() {
+        return start.diffOfSeconds(end);
+    }
+
+    @Benchmark
+    public long zoroAddMinutes() {
+        return walker.addMinutes(1).timestamp();
+    }
+
+    @Benchmark
+    public long cursorAddMinutes() {
+        return cursor.addMinutes(1).epochMillis();
+    }
+
+}
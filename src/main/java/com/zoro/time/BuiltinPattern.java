@@ -0,0 +1,80 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link Zoro} 内置的定长模式，描述各字段在文本中的位置
+ */
+enum BuiltinPattern {
+
+    PURE_DATE(Zoro.PURE_DATE_PATTERN, 0, 4, 6, -1, -1, -1),
+    PURE_DATETIME(Zoro.PURE_DATETIME_PATTERN, 0, 4, 6, 8, 10, 12),
+    NORMAL_DATE(Zoro.NORMAL_DATE_PATTERN, 0, 5, 8, -1, -1, -1),
+    NORMAL_DATETIME(Zoro.NORMAL_DATETIME_PATTERN, 0, 5, 8, 11, 14, 17),
+    TIME(Zoro.TIME_PATTERN, -1, -1, -1, 0, 2, 4),
+    NORMAL_TIME(Zoro.NORMAL_TIME_PATTERN, -1, -1, -1, 0, 3, 6);
+
+    final String pattern;
+    final int length;
+    final int yearIndex;
+    final int monthIndex;
+    final int dayIndex;
+    final int hourIndex;
+    final int minuteIndex;
+    final int secondIndex;
+
+    BuiltinPattern(String pattern, int yearIndex, int monthIndex, int dayIndex,
+                   int hourIndex, int minuteIndex, int secondIndex) {
+        this.pattern = pattern;
+        this.length = pattern.length();
+        this.yearIndex = yearIndex;
+        this.monthIndex = monthIndex;
+        this.dayIndex = dayIndex;
+        this.hourIndex = hourIndex;
+        this.minuteIndex = minuteIndex;
+        this.secondIndex = secondIndex;
+    }
+
+    boolean hasDate() {
+        return yearIndex >= 0;
+    }
+
+    boolean hasTime() {
+        return hourIndex >= 0;
+    }
+
+    /**
+     * 模式中的字母位置为数字，其余位置为字面量
+     */
+    boolean isDigitAt(int index) {
+        char c = pattern.charAt(index);
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    char literalAt(int index) {
+        return pattern.charAt(index);
+    }
+
+    static @Nullable BuiltinPattern of(@Nullable String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        switch (pattern) {
+            case Zoro.PURE_DATE_PATTERN:
+                return PURE_DATE;
+            case Zoro.PURE_DATETIME_PATTERN:
+                return PURE_DATETIME;
+            case Zoro.NORMAL_DATE_PATTERN:
+                return NORMAL_DATE;
+            case Zoro.NORMAL_DATETIME_PATTERN:
+                return NORMAL_DATETIME;
+            case Zoro.TIME_PATTERN:
+                return TIME;
+            case Zoro.NORMAL_TIME_PATTERN:
+                return NORMAL_TIME;
+            default:
+                return null;
+        }
+    }
+
+}
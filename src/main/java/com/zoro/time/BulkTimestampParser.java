@@ -0,0 +1,348 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+
+/**
+ * 批量解析文本文件中的时间，输出毫秒时间戳。
+ * <p>文件通过内存映射读取，直接扫描 ASCII 字节，每行不创建任何对象。每行一个时间，或者通过
+ * {@link #column(int, char)} 指定按分隔符拆分后的某一列。空行会被跳过，无法解析的行（包括 CSV 的表头）
+ * 不会抛出异常，而是将其在文件中的位置交给 {@link #onMalformed(MalformedRowListener)} 设置的监听器。</p>
+ * <p>支持 {@link Zoro#NORMAL_DATETIME_PATTERN} 和 {@link Zoro#PURE_DATETIME_PATTERN}，
+ * 日期超过当月天数时与 {@link Zoro#parse(CharSequence, String)} 一样取当月最后一天，
+ * 夏令时间隙和重叠的处理与 {@link java.time.ZonedDateTime#of(java.time.LocalDateTime, ZoneId)} 一致</p>
+ *
+ * <pre>{@code
+ * long[] timestamps = BulkTimestampParser.of(Zoro.NORMAL_DATETIME_PATTERN, Zoro.SHANG_HAI)
+ *     .column(2, ',')
+ *     .parseAll(path);
+ * }</pre>
+ * <p>实例不可变，可以在多个线程中共享</p>
+ */
+public final class BulkTimestampParser {
+
+    /**
+     * 默认的分段大小，文件按该大小在行边界处切分，每段单独映射和解析
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+
+    private static final MalformedRowListener IGNORE = (offset, length) -> {
+    };
+
+    private final BuiltinPattern pattern;
+    private final ZoneOffsets offsets;
+    private final int column;
+    private final byte delimiter;
+    private final MalformedRowListener listener;
+    private final long segmentSize;
+
+    private BulkTimestampParser(BuiltinPattern pattern, ZoneOffsets offsets, int column, byte delimiter,
+                                MalformedRowListener listener, long segmentSize) {
+        this.pattern = pattern;
+        this.offsets = offsets;
+        this.column = column;
+        this.delimiter = delimiter;
+        this.listener = listener;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * @param pattern 时间格式，{@link Zoro#NORMAL_DATETIME_PATTERN} 或 {@link Zoro#PURE_DATETIME_PATTERN}
+     * @param zone    文件中的时间所在的时区
+     * @throws IllegalArgumentException 不支持的时间格式
+     */
+    public static @NotNull BulkTimestampParser of(@NotNull String pattern, @NotNull ZoneId zone) {
+        Objects.requireNonNull(pattern, "pattern");
+        Objects.requireNonNull(zone, "zone");
+        BuiltinPattern builtin = BuiltinPattern.of(pattern);
+        if (builtin == null || !builtin.hasDate() || !builtin.hasTime()) {
+            throw new IllegalArgumentException("unsupported pattern: " + pattern);
+        }
+
+        return new BulkTimestampParser(builtin, ZoneOffsets.of(zone), -1, (byte) 0, IGNORE, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 只解析每行按分隔符拆分后的指定列
+     *
+     * @param column    列的下标，从 0 开始
+     * @param delimiter 分隔符，需要是 ASCII 字符
+     */
+    public @NotNull BulkTimestampParser column(int column, char delimiter) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column < 0");
+        }
+        if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("unsupported delimiter: " + delimiter);
+        }
+
+        return new BulkTimestampParser(pattern, offsets, column, (byte) delimiter, listener, segmentSize);
+    }
+
+    /**
+     * 设置无法解析的行的监听器。{@link #parseAll(Path)} 会在多个线程中并发调用监听器，且不保证调用顺序
+     */
+    public @NotNull BulkTimestampParser onMalformed(@Nullable MalformedRowListener listener) {
+        return new BulkTimestampParser(pattern, offsets, column, delimiter, listener == null ? IGNORE : listener,
+            segmentSize);
+    }
+
+    /**
+     * 设置分段大小，即 {@link #parseAll(Path)} 的并行粒度，默认为 {@value #DEFAULT_SEGMENT_SIZE} 字节
+     */
+    public @NotNull BulkTimestampParser segmentSize(long segmentSize) {
+        if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize < 1 or segmentSize > Integer.MAX_VALUE");
+        }
+
+        return new BulkTimestampParser(pattern, offsets, column, delimiter, listener, segmentSize);
+    }
+
+    /**
+     * 在当前线程中按文件顺序解析
+     *
+     * @param file     文件
+     * @param consumer 接收每一行的毫秒时间戳
+     * @return 成功解析的行数
+     */
+    public long parse(@NotNull Path file, @NotNull LongConsumer consumer) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(consumer, "consumer");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = segments(channel);
+            long count = 0;
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                count += scan(channel, bounds[i], bounds[i + 1], consumer);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 按分段并行解析
+     *
+     * @param file 文件
+     * @return 按文件顺序排列的毫秒时间戳
+     */
+    public long @NotNull [] parseAll(@NotNull Path file) throws IOException {
+        Objects.requireNonNull(file, "file");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = segments(channel);
+            LongBuffer[] results = new LongBuffer[bounds.length - 1];
+            ParseTask task = new ParseTask(channel, bounds, results, 0, results.length);
+            try {
+                if (results.length > 1) {
+                    ForkJoinPool.commonPool().invoke(task);
+                } else {
+                    task.compute();
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int total = 0;
+            for (LongBuffer result : results) {
+                total = Math.addExact(total, result.size);
+            }
+            long[] timestamps = new long[total];
+            int position = 0;
+            for (LongBuffer result : results) {
+                System.arraycopy(result.values, 0, timestamps, position, result.size);
+                position += result.size;
+            }
+            return timestamps;
+        }
+    }
+
+    /**
+     * 在行边界处切分文件
+     *
+     * @return 各段的起始位置，最后一个元素为文件大小
+     */
+    private long[] segments(FileChannel channel) throws IOException {
+        long size = channel.size();
+        LongBuffer bounds = new LongBuffer(16);
+        bounds.accept(0);
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = segmentSize;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position, size, buffer);
+            if (lineStart >= size) {
+                break;
+            }
+            bounds.accept(lineStart);
+            position = lineStart + segmentSize;
+        }
+        bounds.accept(size);
+        return bounds.toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer buffer)
+        throws IOException {
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private long scan(FileChannel channel, long start, long end, LongConsumer consumer) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("line too long near offset " + start);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buffer.limit();
+        long count = 0;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                long epochSecond = parseLine(buffer, lineStart, lineEnd);
+                if (epochSecond == FastParser.INVALID) {
+                    listener.onMalformed(start + lineStart, lineEnd - lineStart);
+                } else {
+                    consumer.accept(epochSecond * 1000);
+                    count++;
+                }
+            }
+            lineStart = next;
+        }
+        return count;
+    }
+
+    private long parseLine(ByteBuffer buffer, int lineStart, int lineEnd) {
+        int fieldStart = lineStart;
+        int fieldEnd = lineEnd;
+        if (column >= 0) {
+            for (int i = 0; i < column; i++) {
+                fieldStart = indexOfDelimiter(buffer, fieldStart, lineEnd);
+                if (fieldStart == lineEnd) {
+                    return FastParser.INVALID;
+                }
+                fieldStart++;
+            }
+            fieldEnd = indexOfDelimiter(buffer, fieldStart, lineEnd);
+        }
+        if (fieldEnd - fieldStart != pattern.length) {
+            return FastParser.INVALID;
+        }
+        long local = FastParser.parseLocalEpochSecond(buffer, fieldStart, pattern);
+        return local == FastParser.INVALID ? local : offsets.toEpochSecond(local, null);
+    }
+
+    private int indexOfDelimiter(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == delimiter) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * 无法解析的行的监听器
+     */
+    @FunctionalInterface
+    public interface MalformedRowListener {
+
+        /**
+         * @param offset 该行在文件中的字节位置
+         * @param length 该行的字节长度，不含换行符
+         */
+        void onMalformed(long offset, int length);
+
+    }
+
+    private final class ParseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long[] bounds;
+        private final LongBuffer[] results;
+        private final int from;
+        private final int to;
+
+        ParseTask(FileChannel channel, long[] bounds, LongBuffer[] results, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParseTask(channel, bounds, results, from, mid),
+                    new ParseTask(channel, bounds, results, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                LongBuffer result = new LongBuffer(1024);
+                try {
+                    scan(channel, bounds[i], bounds[i + 1], result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                results[i] = result;
+            }
+        }
+    }
+
+    private static final class LongBuffer implements LongConsumer {
+
+        long[] values;
+        int size;
+
+        LongBuffer(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        @Override
+        public void accept(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.addExact(size, size >> 1) + 1);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+}
@@ -0,0 +1,394 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 工作日日历，在一段日期范围内计算工作日的加减和计数。
+ * <p>范围内的每一天占一个比特，按 epoch day 排列，另有每 64 天的前缀计数，
+ * 因此 {@link #countBusinessDays} 为 O(1)，{@link #addBusinessDays}、{@link #nextBusinessDay} 为 O(log n)，
+ * 都不随相隔的天数增长。十年的日历约占 1 KB</p>
+ * <p>节假日文件为 UTF-8 文本，每行一个日期或日期范围，{@code +} 开头的为调休的工作日，{@code #} 之后为注释：</p>
+ * <pre>{@code
+ * # 国庆节
+ * 2024-10-01..2024-10-07
+ * +2024-09-29
+ * +2024-10-12
+ * }</pre>
+ * <pre>{@code
+ * BusinessCalendar calendar = BusinessCalendar.load(path, LocalDate.of(2020, 1, 1), LocalDate.of(2030, 12, 31));
+ * Zoro settlement = calendar.addBusinessDays(trade, 2);
+ * }</pre>
+ * <p>{@link Zoro} 按其所在时区的本地日期计算。实例不可变，可以在多个线程中共享</p>
+ */
+public final class BusinessCalendar {
+
+    private static final Set<DayOfWeek> DEFAULT_WEEKEND = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    private final long firstDay;
+    private final int length;
+    /**
+     * 第 i 个比特为 1 表示 {@code firstDay + i} 是工作日
+     */
+    private final long[] bits;
+    /**
+     * {@code counts[w]} 为前 w 个 long 中工作日的个数，长度为 {@code bits.length + 1}
+     */
+    private final int[] counts;
+
+    private BusinessCalendar(long firstDay, int length, long[] bits) {
+        this.firstDay = firstDay;
+        this.length = length;
+        this.bits = bits;
+        this.counts = new int[bits.length + 1];
+        for (int i = 0; i < bits.length; i++) {
+            counts[i + 1] = counts[i] + Long.bitCount(bits[i]);
+        }
+    }
+
+    /**
+     * 周六、周日休息，没有节假日
+     *
+     * @param from 第一天，包含
+     * @param to   最后一天，包含
+     */
+    public static @NotNull BusinessCalendar of(@NotNull LocalDate from, @NotNull LocalDate to) {
+        return of(from, to, DEFAULT_WEEKEND);
+    }
+
+    /**
+     * @param from    第一天，包含
+     * @param to      最后一天，包含
+     * @param weekend 每周休息的日子
+     * @throws IllegalArgumentException {@code to} 早于 {@code from}，或者范围超过 {@code Integer.MAX_VALUE} 天
+     */
+    public static @NotNull BusinessCalendar of(@NotNull LocalDate from, @NotNull LocalDate to,
+                                               @NotNull Set<DayOfWeek> weekend) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        Objects.requireNonNull(weekend, "weekend");
+        long firstDay = from.toEpochDay();
+        long days = to.toEpochDay() - firstDay + 1;
+        if (days < 1 || days > Integer.MAX_VALUE - 64) {
+            throw new IllegalArgumentException("invalid range: " + from + ".." + to);
+        }
+
+        int length = (int) days;
+        long[] bits = new long[(length + 63) >>> 6];
+        boolean[] rest = new boolean[8];
+        for (DayOfWeek dayOfWeek : weekend) {
+            rest[dayOfWeek.getValue()] = true;
+        }
+        int dayOfWeek = CalendarMath.dayOfWeek(firstDay);
+        for (int i = 0; i < length; i++) {
+            if (!rest[dayOfWeek]) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+        return new BusinessCalendar(firstDay, length, bits);
+    }
+
+    /**
+     * 读取节假日文件，格式见类的说明，周六、周日休息
+     *
+     * @param file 节假日文件，范围之外的日期会被忽略
+     * @param from 第一天，包含
+     * @param to   最后一天，包含
+     * @throws IllegalArgumentException 文件的格式不对
+     */
+    public static @NotNull BusinessCalendar load(@NotNull Path file, @NotNull LocalDate from, @NotNull LocalDate to)
+        throws IOException {
+        Objects.requireNonNull(file, "file");
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader, from, to);
+        }
+    }
+
+    /**
+     * 读取节假日，格式见类的说明，周六、周日休息
+     *
+     * @throws IllegalArgumentException 格式不对
+     */
+    public static @NotNull BusinessCalendar load(@NotNull Reader reader, @NotNull LocalDate from, @NotNull LocalDate to)
+        throws IOException {
+        Objects.requireNonNull(reader, "reader");
+
+        BusinessCalendar calendar = of(from, to);
+        long[] bits = calendar.bits.clone();
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        int lineNumber = 0;
+        for (String line; (line = lines.readLine()) != null; ) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String entry = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            boolean workday = entry.charAt(0) == '+';
+            if (workday) {
+                entry = entry.substring(1).trim();
+            }
+            int split = entry.indexOf("..");
+            try {
+                LocalDate first = LocalDate.parse(split < 0 ? entry : entry.substring(0, split).trim());
+                LocalDate last = split < 0 ? first : LocalDate.parse(entry.substring(split + 2).trim());
+                if (last.isBefore(first)) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": end is before start");
+                }
+                calendar.set(bits, first.toEpochDay(), last.toEpochDay(), workday);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("line " + lineNumber + ": " + line, e);
+            }
+        }
+        return new BusinessCalendar(calendar.firstDay, calendar.length, bits);
+    }
+
+    /**
+     * @param holidays 休息的日子，范围之外的日期会被忽略
+     * @return 新的日历
+     */
+    public @NotNull BusinessCalendar withHolidays(@NotNull Collection<LocalDate> holidays) {
+        return with(holidays, false);
+    }
+
+    /**
+     * @param workdays 需要工作的日子，如调休的周末，范围之外的日期会被忽略
+     * @return 新的日历
+     */
+    public @NotNull BusinessCalendar withWorkdays(@NotNull Collection<LocalDate> workdays) {
+        return with(workdays, true);
+    }
+
+    public @NotNull LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    public @NotNull LocalDate lastDay() {
+        return LocalDate.ofEpochDay(firstDay + length - 1);
+    }
+
+    /**
+     * @throws DateTimeException 超出日历的范围
+     */
+    public boolean isBusinessDay(long epochDay) {
+        int index = index(epochDay);
+        return (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * @throws DateTimeException 超出日历的范围
+     */
+    public boolean isBusinessDay(@NotNull LocalDate date) {
+        return isBusinessDay(Objects.requireNonNull(date, "date").toEpochDay());
+    }
+
+    /**
+     * @throws DateTimeException 超出日历的范围
+     */
+    public boolean isBusinessDay(@NotNull Zoro zoro) {
+        return isBusinessDay(epochDay(zoro));
+    }
+
+    /**
+     * @param start 开始日期，包含
+     * @param end   结束日期，不包含
+     * @return 两者之间的工作日个数，{@code end} 早于 {@code start} 时为负数
+     * @throws DateTimeException 超出日历的范围
+     */
+    public long countBusinessDays(long start, long end) {
+        if (end < start) {
+            return -countBusinessDays(end, start);
+        }
+        int from = index(start);
+        return end == start ? 0 : rank(index(end - 1) + 1) - rank(from);
+    }
+
+    /**
+     * @param start 开始日期，包含
+     * @param end   结束日期，不包含
+     * @return 两者之间的工作日个数，{@code end} 早于 {@code start} 时为负数
+     * @throws DateTimeException 超出日历的范围
+     */
+    public long countBusinessDays(@NotNull LocalDate start, @NotNull LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+
+        return countBusinessDays(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * @param start 开始日期，包含
+     * @param end   结束日期，不包含
+     * @return 两者之间的工作日个数，{@code end} 早于 {@code start} 时为负数
+     * @throws DateTimeException 超出日历的范围
+     */
+    public long countBusinessDays(@NotNull Zoro start, @NotNull Zoro end) {
+        return countBusinessDays(epochDay(start), epochDay(end));
+    }
+
+    /**
+     * @param days 工作日的个数，为负数时向前
+     * @return 之后（之前）的第 {@code days} 个工作日，{@code days} 为 0 时返回 {@code epochDay} 本身
+     * @throws DateTimeException 超出日历的范围
+     */
+    public long addBusinessDays(long epochDay, long days) {
+        int index = index(epochDay);
+        if (days == 0) {
+            return epochDay;
+        }
+        long target = days > 0 ? rank(index + 1) + days - 1 : rank(index) + days;
+        if (target < 0 || target >= counts[bits.length]) {
+            throw new DateTimeException("no such business day within " + firstDay() + ".." + lastDay());
+        }
+        return firstDay + select((int) target);
+    }
+
+    /**
+     * @param days 工作日的个数，为负数时向前
+     * @return 之后（之前）的第 {@code days} 个工作日，{@code days} 为 0 时返回 {@code date} 本身
+     * @throws DateTimeException 超出日历的范围
+     */
+    public @NotNull LocalDate addBusinessDays(@NotNull LocalDate date, long days) {
+        return LocalDate.ofEpochDay(addBusinessDays(Objects.requireNonNull(date, "date").toEpochDay(), days));
+    }
+
+    /**
+     * @param days 工作日的个数，为负数时向前
+     * @return 新的实例，之后（之前）的第 {@code days} 个工作日，时间和时区不变
+     * @throws DateTimeException 超出日历的范围
+     */
+    public @NotNull Zoro addBusinessDays(@NotNull Zoro zoro, long days) {
+        return moveTo(zoro, addBusinessDays(epochDay(zoro), days));
+    }
+
+    /**
+     * @return 之后的第一个工作日
+     * @throws DateTimeException 超出日历的范围
+     */
+    public @NotNull LocalDate nextBusinessDay(@NotNull LocalDate date) {
+        return addBusinessDays(date, 1);
+    }
+
+    /**
+     * @return 新的实例，之后的第一个工作日，时间和时区不变
+     * @throws DateTimeException 超出日历的范围
+     */
+    public @NotNull Zoro nextBusinessDay(@NotNull Zoro zoro) {
+        return addBusinessDays(zoro, 1);
+    }
+
+    /**
+     * @return 之前的第一个工作日
+     * @throws DateTimeException 超出日历的范围
+     */
+    public @NotNull LocalDate previousBusinessDay(@NotNull LocalDate date) {
+        return addBusinessDays(date, -1);
+    }
+
+    /**
+     * @return 新的实例，之前的第一个工作日，时间和时区不变
+     * @throws DateTimeException 超出日历的范围
+     */
+    public @NotNull Zoro previousBusinessDay(@NotNull Zoro zoro) {
+        return addBusinessDays(zoro, -1);
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessCalendar{" + firstDay() + ".." + lastDay() + ", businessDays=" + counts[bits.length] + '}';
+    }
+
+    private BusinessCalendar with(Collection<LocalDate> dates, boolean workday) {
+        Objects.requireNonNull(dates, "dates");
+
+        long[] copy = bits.clone();
+        for (LocalDate date : dates) {
+            long epochDay = date.toEpochDay();
+            set(copy, epochDay, epochDay, workday);
+        }
+        return new BusinessCalendar(firstDay, length, copy);
+    }
+
+    /**
+     * 设置 {@code [first, last]} 中落在范围之内的日子
+     */
+    private void set(long[] bits, long first, long last, boolean workday) {
+        long from = Math.max(first, firstDay) - firstDay;
+        long to = Math.min(last, firstDay + length - 1) - firstDay;
+        for (long i = from; i <= to; i++) {
+            if (workday) {
+                bits[(int) (i >>> 6)] |= 1L << i;
+            } else {
+                bits[(int) (i >>> 6)] &= ~(1L << i);
+            }
+        }
+    }
+
+    private int index(long epochDay) {
+        long index = epochDay - firstDay;
+        if (index < 0 || index >= length) {
+            throw new DateTimeException(LocalDate.ofEpochDay(epochDay) + " is outside " + firstDay() + ".." + lastDay());
+        }
+        return (int) index;
+    }
+
+    /**
+     * 下标小于 {@code index} 的工作日个数
+     */
+    private long rank(int index) {
+        int word = index >>> 6;
+        int bit = index & 63;
+        if (bit == 0) {
+            return counts[word];
+        }
+        return counts[word] + Long.bitCount(bits[word] & (-1L >>> (64 - bit)));
+    }
+
+    /**
+     * 第 {@code rank} 个（从 0 开始）工作日的下标
+     */
+    private int select(int rank) {
+        int low = 0;
+        int high = bits.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (counts[mid] <= rank) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long word = bits[low];
+        for (int i = rank - counts[low]; i > 0; i--) {
+            word &= word - 1;
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static long epochDay(Zoro zoro) {
+        return Objects.requireNonNull(zoro, "zoro").toLocalDate().toEpochDay();
+    }
+
+    private static Zoro moveTo(Zoro zoro, long epochDay) {
+        ZonedDateTime date = zoro.toZonedDateTime();
+        return Zoro.wrap(date.with(LocalDate.ofEpochDay(epochDay)));
+    }
+
+}
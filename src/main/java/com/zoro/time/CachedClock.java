@@ -0,0 +1,116 @@
+package com.zoro.time;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 粗粒度的缓存时钟。
+ * <p>由一个后台守护线程按固定的粒度读取系统时间，并为用到过的时区预先计算好 {@link ZonedDateTime}，
+ * 通过 volatile 字段发布。读取当前时间只需一次 volatile 读和一次数组查找</p>
+ *
+ * @see Zoro#useCachedClock(Duration)
+ */
+final class CachedClock {
+
+    /**
+     * 预先计算的时区数量上限，超出的时区在读取时现场计算
+     */
+    private static final int MAX_ZONES = 32;
+
+    private final long granularityNanos;
+    private final CopyOnWriteArrayList<ZoneId> zones = new CopyOnWriteArrayList<>();
+    private final Thread ticker;
+    private volatile Tick tick;
+    private volatile boolean running = true;
+
+    CachedClock(Duration granularity) {
+        this.granularityNanos = granularity.toNanos();
+        this.tick = createTick();
+        this.ticker = new Thread(this::run, "zoro-cached-clock");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    ZonedDateTime now() {
+        Tick current = tick;
+        return now(current, current.defaultZone);
+    }
+
+    ZonedDateTime now(ZoneId zone) {
+        return now(tick, zone);
+    }
+
+    long millis() {
+        return tick.instant.toEpochMilli();
+    }
+
+    private ZonedDateTime now(Tick current, ZoneId zone) {
+        ZonedDateTime date = current.get(zone);
+        if (date != null) {
+            return date;
+        }
+        if (zones.size() < MAX_ZONES) {
+            zones.addIfAbsent(zone);
+        }
+        return ZonedDateTime.ofInstant(current.instant, zone);
+    }
+
+    void stop() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, granularityNanos);
+            tick = createTick();
+        }
+    }
+
+    private Tick createTick() {
+        Instant instant = Instant.now();
+        ZoneId defaultZone = ZoneId.systemDefault();
+        zones.addIfAbsent(defaultZone);
+        ZoneId[] tickZones = zones.toArray(new ZoneId[0]);
+        ZonedDateTime[] dates = new ZonedDateTime[tickZones.length];
+        for (int i = 0; i < tickZones.length; i++) {
+            dates[i] = ZonedDateTime.ofInstant(instant, tickZones[i]);
+        }
+        return new Tick(instant, defaultZone, tickZones, dates);
+    }
+
+    private static final class Tick {
+
+        final Instant instant;
+        final ZoneId defaultZone;
+        final ZoneId[] zones;
+        final ZonedDateTime[] dates;
+
+        Tick(Instant instant, ZoneId defaultZone, ZoneId[] zones, ZonedDateTime[] dates) {
+            this.instant = instant;
+            this.defaultZone = defaultZone;
+            this.zones = zones;
+            this.dates = dates;
+        }
+
+        ZonedDateTime get(ZoneId zone) {
+            for (int i = 0; i < zones.length; i++) {
+                if (zones[i] == zone) {
+                    return dates[i];
+                }
+            }
+            for (int i = 0; i < zones.length; i++) {
+                if (zones[i].equals(zone)) {
+                    return dates[i];
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
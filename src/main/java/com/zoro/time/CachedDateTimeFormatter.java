@@ -1,22 +1,56 @@
 package com.zoro.time;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQuery;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 模式缓存。
+ * <p>内置模式预先编译并保存在只读的 {@link HashMap} 中，读取无锁；其余模式保存在有界缓存中，
+ * 超出容量时按 CLOCK（二次机会）策略淘汰，近期被访问过的模式会被保留。</p>
+ * <p>容量默认为 {@value #DEFAULT_MAXIMUM_SIZE}，可通过系统属性 {@code zoro.formatter.cache.maximumSize}
+ * 或 {@link Zoro#formatterCacheMaximumSize(int)} 修改</p>
+ */
 class CachedDateTimeFormatter {
 
-    private static final ConcurrentMap<String, DateTimeFormatter> CACHE = new ConcurrentHashMap<>(4, 0.75f, 2);
+    static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final Map<String, FormatPlan> BUILTIN;
+    private static final ConcurrentMap<String, Entry> CACHE = new ConcurrentHashMap<>(16, 0.75f, 2);
+    private static final Queue<Entry> CLOCK = new ConcurrentLinkedQueue<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    private static final ChronoField[] FIELDS = ChronoField.values();
+
+    private static volatile int maximumSize = Math.max(0,
+        Integer.getInteger("zoro.formatter.cache.maximumSize", DEFAULT_MAXIMUM_SIZE));
 
     static {
-        CACHE.put(Zoro.PURE_DATE_PATTERN, DateTimeFormatter.ofPattern(Zoro.PURE_DATE_PATTERN));
-        CACHE.put(Zoro.PURE_DATETIME_PATTERN, DateTimeFormatter.ofPattern(Zoro.PURE_DATETIME_PATTERN));
-        CACHE.put(Zoro.NORMAL_DATE_PATTERN, DateTimeFormatter.ofPattern(Zoro.NORMAL_DATE_PATTERN));
-        CACHE.put(Zoro.NORMAL_DATETIME_PATTERN, DateTimeFormatter.ofPattern(Zoro.NORMAL_DATETIME_PATTERN));
-        CACHE.put(Zoro.TIME_PATTERN, DateTimeFormatter.ofPattern(Zoro.TIME_PATTERN));
-        CACHE.put(Zoro.NORMAL_TIME_PATTERN, DateTimeFormatter.ofPattern(Zoro.NORMAL_TIME_PATTERN));
+        Map<String, FormatPlan> builtin = new HashMap<>();
+        builtin.put(Zoro.PURE_DATE_PATTERN, FormatPlan.compile(Zoro.PURE_DATE_PATTERN));
+        builtin.put(Zoro.PURE_DATETIME_PATTERN, FormatPlan.compile(Zoro.PURE_DATETIME_PATTERN));
+        builtin.put(Zoro.NORMAL_DATE_PATTERN, FormatPlan.compile(Zoro.NORMAL_DATE_PATTERN));
+        builtin.put(Zoro.NORMAL_DATETIME_PATTERN, FormatPlan.compile(Zoro.NORMAL_DATETIME_PATTERN));
+        builtin.put(Zoro.TIME_PATTERN, FormatPlan.compile(Zoro.TIME_PATTERN));
+        builtin.put(Zoro.NORMAL_TIME_PATTERN, FormatPlan.compile(Zoro.NORMAL_TIME_PATTERN));
+        builtin.put(Zoro.ISO_DATETIME_PATTERN, FormatPlan.compile(Zoro.ISO_DATETIME_PATTERN));
+        BUILTIN = Collections.unmodifiableMap(builtin);
     }
 
     TemporalAccessor parse(CharSequence text, String pattern) {
@@ -29,18 +63,159 @@ class CachedDateTimeFormatter {
         return formatter.parse(text, query);
     }
 
+    /**
+     * 只解析一次文本，失败时不创建异常：先不经字段解析检查文本格式，再检查各字段的取值范围，
+     * 最后由 {@link FormatPlan#resolve} 直接构建结果；模式不满足其条件时才交给 {@link DateTimeFormatter} 完整解析
+     *
+     * @return 解析结果，失败时为 {@code null}，出错的位置记录在 {@code position} 中，字段越界时为 0
+     */
+    <T> T tryParse(CharSequence text, String pattern, ParsePosition position, TemporalQuery<T> query) {
+        FormatPlan plan = getPlan(pattern);
+        TemporalAccessor parsed = plan.formatter.parseUnresolved(text, position);
+        if (parsed == null) {
+            return null;
+        }
+        if (position.getIndex() < text.length()) {
+            position.setErrorIndex(position.getIndex());
+            return null;
+        }
+        if (!inRange(parsed)) {
+            position.setIndex(0);
+            position.setErrorIndex(0);
+            return null;
+        }
+        ZonedDateTime resolved = plan.resolve(parsed);
+        if (resolved != null) {
+            return query.queryFrom(resolved);
+        }
+        try {
+            return plan.formatter.parse(text, query);
+        } catch (DateTimeException e) {
+            position.setIndex(0);
+            position.setErrorIndex(0);
+            return null;
+        }
+    }
+
+    /**
+     * 未解析的各字段是否在取值范围内，越界时 {@link DateTimeFormatter} 一定解析失败。
+     * SMART 规则下 24 时可以表示次日零点，因此小时允许为 24
+     */
+    private static boolean inRange(TemporalAccessor parsed) {
+        for (ChronoField field : FIELDS) {
+            if (!parsed.isSupported(field)) {
+                continue;
+            }
+            long value = parsed.getLong(field);
+            if (field == ChronoField.HOUR_OF_DAY ? value < 0 || value > 24 : !field.range().isValidValue(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     String format(TemporalAccessor accessor, String pattern) {
         DateTimeFormatter formatter = getFormatter(pattern);
         return formatter.format(accessor);
     }
 
+    String format(ZonedDateTime date, String pattern) {
+        return getPlan(pattern).format(date);
+    }
+
+    void formatTo(ZonedDateTime date, String pattern, Appendable appendable) {
+        getPlan(pattern).formatTo(date, appendable);
+    }
+
+    void formatTo(ZonedDateTime date, String pattern, ByteBuffer buffer) {
+        getPlan(pattern).formatTo(date, buffer);
+    }
+
     DateTimeFormatter getFormatter(String pattern) {
-        DateTimeFormatter formatter = CACHE.get(pattern);
-        if (formatter == null) {
-            formatter = DateTimeFormatter.ofPattern(pattern);
-            CACHE.putIfAbsent(pattern, formatter);
+        return getPlan(pattern).formatter;
+    }
+
+    FormatPlan getPlan(String pattern) {
+        FormatPlan plan = BUILTIN.get(pattern);
+        if (plan != null) {
+            HITS.increment();
+            if (ZoroListeners.ENABLED) {
+                ZoroListeners.LISTENER.onFormatterCache(pattern, true);
+            }
+            return plan;
+        }
+        Entry entry = CACHE.get(pattern);
+        if (entry != null) {
+            HITS.increment();
+            if (ZoroListeners.ENABLED) {
+                ZoroListeners.LISTENER.onFormatterCache(pattern, true);
+            }
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.plan;
+        }
+        MISSES.increment();
+        if (ZoroListeners.ENABLED) {
+            ZoroListeners.LISTENER.onFormatterCache(pattern, false);
+        }
+        plan = FormatPlan.compile(pattern);
+        if (maximumSize == 0) {
+            return plan;
+        }
+        entry = new Entry(pattern, plan);
+        Entry existing = CACHE.putIfAbsent(pattern, entry);
+        if (existing != null) {
+            return existing.plan;
+        }
+        CLOCK.offer(entry);
+        evict();
+        return plan;
+    }
+
+    private static void evict() {
+        int max = maximumSize;
+        int scanned = 0;
+        while (CACHE.size() > max) {
+            Entry entry = CLOCK.poll();
+            if (entry == null) {
+                return;
+            }
+            // 给近期访问过的条目一次机会，但扫描一整圈后不再保留，防止无限循环
+            if (entry.referenced && scanned++ <= max) {
+                entry.referenced = false;
+                CLOCK.offer(entry);
+                continue;
+            }
+            if (CACHE.remove(entry.pattern, entry)) {
+                EVICTIONS.increment();
+            }
+        }
+    }
+
+    static void maximumSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("maximumSize < 0");
+        }
+        maximumSize = size;
+        evict();
+    }
+
+    static FormatterCacheStats stats() {
+        return new FormatterCacheStats(HITS.sum(), MISSES.sum(), EVICTIONS.sum(), CACHE.size(), maximumSize);
+    }
+
+    private static final class Entry {
+
+        final String pattern;
+        final FormatPlan plan;
+        volatile boolean referenced;
+
+        Entry(String pattern, FormatPlan plan) {
+            this.pattern = pattern;
+            this.plan = plan;
         }
-        return formatter;
+
     }
 
 }
@@ -0,0 +1,107 @@
+package com.zoro.time;
+
+/**
+ * ISO 日历的算术工具，与 {@link java.time.LocalDate} 的计算方式一致，但不创建对象
+ */
+final class CalendarMath {
+
+    static final int SECONDS_PER_DAY = 86400;
+    static final long DAYS_0000_TO_1970 = 719528L;
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private CalendarMath() {
+    }
+
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int monthLength(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    static long toEpochDay(long year, int month, int day) {
+        long total = 365 * year;
+        if (year >= 0) {
+            total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        } else {
+            total -= year / -4 - year / -100 + year / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 将 epoch day 转换为年月日，打包为 {@code year << 9 | month << 5 | day}
+     */
+    static long packDate(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return yearEst << 9 | month << 5 | day;
+    }
+
+    static int packedYear(long packed) {
+        return (int) (packed >> 9);
+    }
+
+    static int packedMonth(long packed) {
+        return (int) (packed >> 5) & 0xF;
+    }
+
+    static int packedDay(long packed) {
+        return (int) packed & 0x1F;
+    }
+
+    static int dayOfYear(int year, int month, int day) {
+        int days = (367 * month - 362) / 12 + day;
+        if (month > 2) {
+            days--;
+            if (!isLeapYear(year)) {
+                days--;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * @return 1（周一）~ 7（周日）
+     */
+    static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L) + 1;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.zoro.time;
+
+/**
+ * 预先计算的日历表。
+ * <p>窗口内每一天保存一个打包的 int：{@code (year - minYear) << 18 | dayOfYear << 9 | month << 5 | day}，
+ * 每月第一天的 epoch day 另存一张表，年月日与 epoch day 的互相转换都只需一次数组读取。
+ * 窗口外的日期交给 {@link CalendarMath} 计算。</p>
+ * <p>窗口默认为 {@value #DEFAULT_MIN_YEAR} ~ {@value #DEFAULT_MAX_YEAR} 年，可通过系统属性
+ * {@code zoro.calendar.table.minYear} 和 {@code zoro.calendar.table.maxYear} 修改</p>
+ */
+final class CalendarTable {
+
+    static final int DEFAULT_MIN_YEAR = 1900;
+    static final int DEFAULT_MAX_YEAR = 2200;
+
+    private static final int MIN_YEAR;
+    private static final int MAX_YEAR;
+    private static final long FIRST_EPOCH_DAY;
+    private static final int[] DAYS;
+    private static final int[] MONTH_STARTS;
+
+    static {
+        int minYear = Math.max(1, Integer.getInteger("zoro.calendar.table.minYear", DEFAULT_MIN_YEAR));
+        int maxYear = Math.min(9999, Integer.getInteger("zoro.calendar.table.maxYear", DEFAULT_MAX_YEAR));
+        if (maxYear < minYear) {
+            maxYear = minYear - 1;
+        }
+        MIN_YEAR = minYear;
+        MAX_YEAR = maxYear;
+        FIRST_EPOCH_DAY = CalendarMath.toEpochDay(minYear, 1, 1);
+
+        int years = maxYear - minYear + 1;
+        DAYS = new int[(int) (CalendarMath.toEpochDay(maxYear + 1, 1, 1) - FIRST_EPOCH_DAY)];
+        MONTH_STARTS = new int[years * 12];
+        int index = 0;
+        for (int y = 0; y < years; y++) {
+            int dayOfYear = 1;
+            for (int month = 1; month <= 12; month++) {
+                MONTH_STARTS[y * 12 + month - 1] = index;
+                int length = CalendarMath.monthLength(minYear + y, month);
+                for (int day = 1; day <= length; day++) {
+                    DAYS[index++] = y << 18 | dayOfYear++ << 9 | month << 5 | day;
+                }
+            }
+        }
+    }
+
+    private CalendarTable() {
+    }
+
+    /**
+     * 与 {@link CalendarMath#packDate(long)} 相同
+     */
+    static long packDate(long epochDay) {
+        long index = epochDay - FIRST_EPOCH_DAY;
+        if (index < 0 || index >= DAYS.length) {
+            return CalendarMath.packDate(epochDay);
+        }
+        int entry = DAYS[(int) index];
+        return (long) (MIN_YEAR + (entry >>> 18)) << 9 | entry & 0x1FF;
+    }
+
+    static int dayOfYear(long epochDay) {
+        long index = epochDay - FIRST_EPOCH_DAY;
+        if (index < 0 || index >= DAYS.length) {
+            long packed = CalendarMath.packDate(epochDay);
+            return CalendarMath.dayOfYear(CalendarMath.packedYear(packed), CalendarMath.packedMonth(packed),
+                CalendarMath.packedDay(packed));
+        }
+        return DAYS[(int) index] >>> 9 & 0x1FF;
+    }
+
+    /**
+     * 与 {@link CalendarMath#toEpochDay(long, int, int)} 相同，{@code day} 需要是该月的有效日期
+     */
+    static long toEpochDay(long year, int month, int day) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return CalendarMath.toEpochDay(year, month, day);
+        }
+        return FIRST_EPOCH_DAY + MONTH_STARTS[(int) (year - MIN_YEAR) * 12 + month - 1] + day - 1;
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * 紧凑的带时区时间，只保存 epoch 秒、纳秒和时区引用，适合在内存中大量保存。
+ * <p>与 {@link Zoro} 不同，{@code CompactZoro} 是不可变对象。年、月、日等字段在访问时计算，
+ * 只有调用 {@link #toZonedDateTime()} 或 {@link #toZoro()} 时才会创建完整的 {@link ZonedDateTime}</p>
+ */
+public final class CompactZoro implements Serializable, Comparable<CompactZoro> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long epochSecond;
+    private final int nano;
+    private final ZoneId zone;
+
+    private CompactZoro(long epochSecond, int nano, ZoneId zone) {
+        this.epochSecond = epochSecond;
+        this.nano = nano;
+        this.zone = zone;
+    }
+
+    public static @NotNull CompactZoro of(long epochSecond, int nano, @NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        if (nano < 0 || nano > 999_999_999) {
+            throw new IllegalArgumentException("nano < 0 or nano > 999999999");
+        }
+
+        return new CompactZoro(epochSecond, nano, zone);
+    }
+
+    public static @NotNull CompactZoro of(long timestamp, @NotNull ZoneId zone) {
+        return of(Math.floorDiv(timestamp, 1000), (int) Math.floorMod(timestamp, 1000L) * 1000_000, zone);
+    }
+
+    public static @NotNull CompactZoro of(@NotNull ZonedDateTime date) {
+        Objects.requireNonNull(date, "date");
+
+        return new CompactZoro(date.toEpochSecond(), date.getNano(), date.getZone());
+    }
+
+    public static @NotNull CompactZoro of(@NotNull Zoro zoro) {
+        Objects.requireNonNull(zoro, "zoro");
+
+        return of(zoro.toZonedDateTime());
+    }
+
+    public static @NotNull CompactZoro now() {
+        return of(ZonedDateTime.now());
+    }
+
+    public static @NotNull CompactZoro now(@NotNull ZoneId zone) {
+        return of(ZonedDateTime.now(zone));
+    }
+
+    public long epochSecond() {
+        return epochSecond;
+    }
+
+    public int nano() {
+        return nano;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public ZoneOffset offset() {
+        return ZoneOffsets.of(zone).offsetAt(epochSecond);
+    }
+
+    public long timestamp() {
+        return epochSecond * 1000 + nano / 1000_000;
+    }
+
+    public int year() {
+        return CalendarMath.packedYear(packedDate());
+    }
+
+    public int monthValue() {
+        return CalendarMath.packedMonth(packedDate());
+    }
+
+    public Month month() {
+        return Month.of(monthValue());
+    }
+
+    public int quarter() {
+        return (monthValue() - 1) / 3 + 1;
+    }
+
+    public int dayOfMonth() {
+        return CalendarMath.packedDay(packedDate());
+    }
+
+    public int dayOfYear() {
+        return CalendarTable.dayOfYear(localEpochDay());
+    }
+
+    public DayOfWeek dayOfWeek() {
+        return DayOfWeek.of(CalendarMath.dayOfWeek(localEpochDay()));
+    }
+
+    public int hour() {
+        return secondOfDay() / 3600;
+    }
+
+    public int minute() {
+        return secondOfDay() / 60 % 60;
+    }
+
+    public int second() {
+        return secondOfDay() % 60;
+    }
+
+    public int millisecond() {
+        return nano / 1000_000;
+    }
+
+    public Instant toInstant() {
+        return Instant.ofEpochSecond(epochSecond, nano);
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, offset());
+    }
+
+    public ZonedDateTime toZonedDateTime() {
+        return ZoneOffsets.toZonedDateTime(epochSecond, nano, zone);
+    }
+
+    public Zoro toZoro() {
+        return Zoro.create(toZonedDateTime());
+    }
+
+    private long localEpochSecond() {
+        return epochSecond + ZoneOffsets.of(zone).offsetSecondsAt(epochSecond);
+    }
+
+    private long localEpochDay() {
+        return Math.floorDiv(localEpochSecond(), CalendarMath.SECONDS_PER_DAY);
+    }
+
+    private long packedDate() {
+        return CalendarTable.packDate(localEpochDay());
+    }
+
+    private int secondOfDay() {
+        return (int) Math.floorMod(localEpochSecond(), (long) CalendarMath.SECONDS_PER_DAY);
+    }
+
+    @Override
+    public int compareTo(@NotNull CompactZoro o) {
+        int cmp = Long.compare(epochSecond, o.epochSecond);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return nano - o.nano;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CompactZoro other = (CompactZoro) o;
+        return epochSecond == other.epochSecond && nano == other.nano && zone.equals(other.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        return (Long.hashCode(epochSecond) * 31 + nano) * 31 + zone.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toZonedDateTime().toString();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Zoro#diffForHumans(Zoro, DiffLocale)} 使用的语言表。
+ * <p>由模板组成，{@code {0}} 为占位符：每个单位的单数和复数形式，如 {@code "{0} minute"}、{@code "{0} minutes"}，
+ * 以及四种相对关系，如 {@code "{0} ago"}。创建时把两层模板展开为数字前后的固定文本，输出时只需追加三段内容。
+ * 数量为 1 时使用单数形式，其余使用复数形式</p>
+ * <pre>{@code
+ * DiffLocale.register(Locale.GERMAN, DiffLocale.of(
+ *     new String[]{"{0} Jahr", "{0} Monat", "{0} Tag", "{0} Stunde", "{0} Minute", "{0} Sekunde"},
+ *     new String[]{"{0} Jahren", "{0} Monaten", "{0} Tagen", "{0} Stunden", "{0} Minuten", "{0} Sekunden"},
+ *     "vor {0}", "in {0}", "{0} davor", "{0} danach"));
+ * }</pre>
+ * <p>实例不可变，可以在多个线程中共享</p>
+ */
+public final class DiffLocale {
+
+    private static final String PLACEHOLDER = "{0}";
+    private static final DateUnit[] UNITS = DateUnit.values();
+
+    private static final int AGO = 0;
+    private static final int FROM_NOW = 1;
+    private static final int BEFORE = 2;
+    private static final int AFTER = 3;
+
+    public static final DiffLocale ENGLISH = of(
+        new String[]{"{0} year", "{0} month", "{0} day", "{0} hour", "{0} minute", "{0} second"},
+        new String[]{"{0} years", "{0} months", "{0} days", "{0} hours", "{0} minutes", "{0} seconds"},
+        "{0} ago", "{0} from now", "{0} before", "{0} after");
+
+    public static final DiffLocale CHINESE = of(
+        new String[]{"{0}年", "{0}个月", "{0}天", "{0}小时", "{0}分钟", "{0}秒"},
+        new String[]{"{0}年", "{0}个月", "{0}天", "{0}小时", "{0}分钟", "{0}秒"},
+        "{0}前", "{0}后", "{0}前", "{0}后");
+
+    private static final ConcurrentMap<String, DiffLocale> REGISTRY = new ConcurrentHashMap<>();
+
+    static {
+        REGISTRY.put(Locale.ENGLISH.getLanguage(), ENGLISH);
+        REGISTRY.put(Locale.CHINESE.getLanguage(), CHINESE);
+    }
+
+    /**
+     * 下标为 {@code (关系 * 单位数 + 单位) * 2 + (复数 ? 1 : 0)}
+     */
+    private final String[] prefixes;
+    private final String[] suffixes;
+
+    private DiffLocale(String[] prefixes, String[] suffixes) {
+        this.prefixes = prefixes;
+        this.suffixes = suffixes;
+    }
+
+    /**
+     * @param singular 各单位的单数形式，按 {@link DateUnit} 的顺序
+     * @param plural   各单位的复数形式，按 {@link DateUnit} 的顺序
+     * @param ago      早于当前时间，如 {@code "{0} ago"}
+     * @param fromNow  晚于当前时间，如 {@code "{0} from now"}
+     * @param before   早于另一个时间，如 {@code "{0} before"}
+     * @param after    晚于另一个时间，如 {@code "{0} after"}
+     * @throws IllegalArgumentException 单位的个数不对，或者模板中没有恰好一个 {@code {0}}
+     */
+    public static @NotNull DiffLocale of(@NotNull String @NotNull [] singular, @NotNull String @NotNull [] plural,
+                                         @NotNull String ago, @NotNull String fromNow,
+                                         @NotNull String before, @NotNull String after) {
+        Objects.requireNonNull(singular, "singular");
+        Objects.requireNonNull(plural, "plural");
+        if (singular.length != UNITS.length || plural.length != UNITS.length) {
+            throw new IllegalArgumentException("expected " + UNITS.length + " units");
+        }
+
+        String[] relations = {ago, fromNow, before, after};
+        int size = relations.length * UNITS.length * 2;
+        String[] prefixes = new String[size];
+        String[] suffixes = new String[size];
+        for (int relation = 0; relation < relations.length; relation++) {
+            int split = placeholder(relations[relation]);
+            for (int unit = 0; unit < UNITS.length; unit++) {
+                for (int form = 0; form < 2; form++) {
+                    String phrase = form == 0 ? singular[unit] : plural[unit];
+                    String message = relations[relation].substring(0, split) + phrase
+                        + relations[relation].substring(split + PLACEHOLDER.length());
+                    int index = (relation * UNITS.length + unit) * 2 + form;
+                    int at = split + placeholder(phrase);
+                    prefixes[index] = message.substring(0, at);
+                    suffixes[index] = message.substring(at + PLACEHOLDER.length());
+                }
+            }
+        }
+        return new DiffLocale(prefixes, suffixes);
+    }
+
+    /**
+     * 注册某个语言的语言表，之后可以通过 {@link #forLocale(Locale)} 按语言查找
+     */
+    public static void register(@NotNull Locale locale, @NotNull DiffLocale diffLocale) {
+        Objects.requireNonNull(locale, "locale");
+        Objects.requireNonNull(diffLocale, "diffLocale");
+
+        REGISTRY.put(locale.getLanguage(), diffLocale);
+    }
+
+    /**
+     * 按语言查找已注册的语言表，内置英文和中文，未注册时返回 {@link #ENGLISH}
+     */
+    public static @NotNull DiffLocale forLocale(@Nullable Locale locale) {
+        if (locale == null) {
+            return ENGLISH;
+        }
+        return REGISTRY.getOrDefault(locale.getLanguage(), ENGLISH);
+    }
+
+    /**
+     * @param count    数量，非负
+     * @param relative 是否相对于当前时间
+     * @param future   是否晚于参照时间
+     */
+    void appendTo(StringBuilder builder, DateUnit unit, long count, boolean relative, boolean future) {
+        int relation = relative ? (future ? FROM_NOW : AGO) : (future ? AFTER : BEFORE);
+        int index = (relation * UNITS.length + unit.ordinal()) * 2 + (count == 1 ? 0 : 1);
+        builder.append(prefixes[index]).append(count).append(suffixes[index]);
+    }
+
+    private static int placeholder(String template) {
+        Objects.requireNonNull(template, "template");
+        int index = template.indexOf(PLACEHOLDER);
+        if (index < 0 || template.indexOf(PLACEHOLDER, index + 1) >= 0) {
+            throw new IllegalArgumentException("template must contain exactly one " + PLACEHOLDER + ": " + template);
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.zoro.time;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 两个时刻之差的算术实现，结果与 {@link ChronoUnit#between} 作用于 {@link java.time.ZonedDateTime} 时一致，但不创建对象。
+ * <p>时、分、秒等时间单位按实际经过的时间计算，即 epoch 秒之差向零取整；
+ * 天、周、月、年等日期单位先将结束时刻换算为开始时刻所在时区的本地时间，结束时刻的时分秒早于开始时刻时先退一天，
+ * 再比较 epoch day 或打包的年月</p>
+ */
+final class DiffMath {
+
+    private static final long NANOS_PER_SECOND = 1000_000_000L;
+
+    private DiffMath() {
+    }
+
+    static boolean isSupported(ChronoUnit unit) {
+        switch (unit) {
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+            case DAYS:
+            case WEEKS:
+            case MONTHS:
+            case YEARS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param unit        单位，需要满足 {@link #isSupported(ChronoUnit)}
+     * @param offsets     开始时刻所在的时区
+     * @param startSecond 开始时刻的 epoch 秒
+     * @param startNano   开始时刻的纳秒
+     * @param startOffset 开始时刻的偏移量，秒
+     * @param endSecond   结束时刻的 epoch 秒
+     * @param endNano     结束时刻的纳秒
+     */
+    static long between(ChronoUnit unit, ZoneOffsets offsets, long startSecond, int startNano, int startOffset,
+                        long endSecond, int endNano) {
+        switch (unit) {
+            case SECONDS:
+                return secondsBetween(startSecond, startNano, endSecond, endNano);
+            case MINUTES:
+                return secondsBetween(startSecond, startNano, endSecond, endNano) / 60;
+            case HOURS:
+                return secondsBetween(startSecond, startNano, endSecond, endNano) / 3600;
+            default:
+                break;
+        }
+        long startLocal = startSecond + startOffset;
+        long endLocal = endSecond + offsets.offsetSecondsAt(endSecond);
+        switch (unit) {
+            case DAYS:
+                return daysBetween(startLocal, startNano, endLocal, endNano);
+            case WEEKS:
+                return daysBetween(startLocal, startNano, endLocal, endNano) / 7;
+            case MONTHS:
+                return monthsBetween(startLocal, startNano, endLocal, endNano);
+            case YEARS:
+                return monthsBetween(startLocal, startNano, endLocal, endNano) / 12;
+            default:
+                throw new IllegalArgumentException("unsupported unit: " + unit);
+        }
+    }
+
+    /**
+     * 经过的完整秒数，向零取整
+     */
+    static long secondsBetween(long startSecond, int startNano, long endSecond, int endNano) {
+        long seconds = endSecond - startSecond;
+        int nanos = endNano - startNano;
+        if (seconds > 0 && nanos < 0) {
+            seconds--;
+        } else if (seconds < 0 && nanos > 0) {
+            seconds++;
+        }
+        return seconds;
+    }
+
+    /**
+     * 两个本地时间（以 UTC 表示的 epoch 秒）之间的完整天数
+     */
+    static long daysBetween(long startLocal, int startNano, long endLocal, int endNano) {
+        long startDay = Math.floorDiv(startLocal, CalendarMath.SECONDS_PER_DAY);
+        return endDay(startLocal, startNano, endLocal, endNano) - startDay;
+    }
+
+    /**
+     * 两个本地时间（以 UTC 表示的 epoch 秒）之间的完整月数，月末的处理与 {@link java.time.LocalDate#until} 一致
+     */
+    static long monthsBetween(long startLocal, int startNano, long endLocal, int endNano) {
+        long startDay = Math.floorDiv(startLocal, CalendarMath.SECONDS_PER_DAY);
+        long endDay = endDay(startLocal, startNano, endLocal, endNano);
+        return (packedMonthDay(endDay) - packedMonthDay(startDay)) / 32;
+    }
+
+    /**
+     * 结束时刻所在的 epoch day，时分秒未走满一天时向开始时刻退一天
+     */
+    private static long endDay(long startLocal, int startNano, long endLocal, int endNano) {
+        long startDay = Math.floorDiv(startLocal, CalendarMath.SECONDS_PER_DAY);
+        long endDay = Math.floorDiv(endLocal, CalendarMath.SECONDS_PER_DAY);
+        long startTime = Math.floorMod(startLocal, CalendarMath.SECONDS_PER_DAY) * NANOS_PER_SECOND + startNano;
+        long endTime = Math.floorMod(endLocal, CalendarMath.SECONDS_PER_DAY) * NANOS_PER_SECOND + endNano;
+        if (endDay > startDay && endTime < startTime) {
+            return endDay - 1;
+        }
+        if (endDay < startDay && endTime > startTime) {
+            return endDay + 1;
+        }
+        return endDay;
+    }
+
+    /**
+     * {@code 总月数 * 32 + 日}，两者之差除以 32 即为完整月数
+     */
+    private static long packedMonthDay(long epochDay) {
+        long packed = CalendarTable.packDate(epochDay);
+        return (CalendarMath.packedYear(packed) * 12L + CalendarMath.packedMonth(packed) - 1) * 32
+            + CalendarMath.packedDay(packed);
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * 内置模式的快速解析，直接扫描数字构建结果，不经过 {@code DateTimeFormatter} 的字段解析过程。
+ * <p>只处理能确定结果的规范输入，其余情况（非法字符、越界字段、24 时等）返回 {@code null}，
+ * 由调用方交给 {@code DateTimeFormatter} 处理，从而保证结果和异常与其完全一致。</p>
+ * <p>{@link #parseLocal(CharSequence, BuiltinPattern)} 进一步区分越界字段和无法处理的形状，
+ * 前者按 {@code DateTimeFormatter} 的 SMART 规则一定解析失败，不需要再交给它处理</p>
+ */
+final class FastParser {
+
+    /**
+     * 字节解析失败时的返回值；{@link #parseLocal(CharSequence, BuiltinPattern)} 中表示字段值越界，文本一定无法解析
+     */
+    static final long INVALID = Long.MIN_VALUE;
+    /**
+     * {@link #parseLocal(CharSequence, BuiltinPattern)} 无法处理，需要交给 {@code DateTimeFormatter}
+     */
+    static final long UNSUPPORTED = Long.MIN_VALUE + 1;
+
+    /**
+     * {@link Zoro#ISO_DATETIME_PATTERN} 去掉偏移量后的形状，{@code 0} 表示数字
+     */
+    private static final String ISO_LOCAL_TEMPLATE = "0000-00-00T00:00:00.000";
+
+    private FastParser() {
+    }
+
+    static @Nullable ZonedDateTime parse(@Nullable CharSequence text, @Nullable String pattern) {
+        BuiltinPattern builtin = BuiltinPattern.of(pattern);
+        if (builtin == null || text == null) {
+            return null;
+        }
+        return parse(text, builtin);
+    }
+
+    static @Nullable ZonedDateTime parse(CharSequence text, BuiltinPattern pattern) {
+        long local = parseLocal(text, pattern);
+        if (local == INVALID || local == UNSUPPORTED) {
+            return null;
+        }
+        return toZonedDateTime(local, pattern);
+    }
+
+    /**
+     * 解析文本中的日期时间，不创建任何对象，字段的检查与 {@code DateTimeFormatter} 的 SMART 规则一致：
+     * 年份为 0、月份不在 1 ~ 12、日期不在 1 ~ 31、时分秒越界时文本一定无法解析；
+     * 日期超过当月天数时取当月最后一天
+     *
+     * @return 以 UTC 表示的本地时间的 epoch 秒，含义同 {@link #parseLocalEpochSecond}；
+     * 字段值越界时返回 {@link #INVALID}；形状与模式不符或为 24:00:00 时返回 {@link #UNSUPPORTED}
+     */
+    static long parseLocal(CharSequence text, BuiltinPattern pattern) {
+        int length = pattern.length;
+        if (text.length() != length) {
+            return UNSUPPORTED;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (pattern.isDigitAt(i)) {
+                if (c < '0' || c > '9') {
+                    return UNSUPPORTED;
+                }
+            } else if (c != pattern.literalAt(i)) {
+                return UNSUPPORTED;
+            }
+        }
+
+        long local = 0;
+        if (pattern.hasDate()) {
+            local = localDate(digits4(text, pattern.yearIndex), digits2(text, pattern.monthIndex),
+                digits2(text, pattern.dayIndex));
+            if (local == INVALID) {
+                return INVALID;
+            }
+        }
+        if (pattern.hasTime()) {
+            int hour = digits2(text, pattern.hourIndex);
+            int minute = digits2(text, pattern.minuteIndex);
+            int second = digits2(text, pattern.secondIndex);
+            if (minute > 59 || second > 59 || hour > 24) {
+                return INVALID;
+            }
+            if (hour == 24) {
+                // 24:00:00 按 SMART 规则为次日零点，交给 DateTimeFormatter；其余 24 时无效
+                return minute == 0 && second == 0 ? UNSUPPORTED : INVALID;
+            }
+            local += hour * 3600 + minute * 60 + second;
+        }
+        return local;
+    }
+
+    /**
+     * @param local {@link #parseLocal} 或 {@link #parseLocalEpochSecond} 的结果，缺少的日期或时间取当前时间
+     */
+    static ZonedDateTime toZonedDateTime(long local, BuiltinPattern pattern) {
+        LocalDate date = pattern.hasDate()
+            ? LocalDate.ofEpochDay(Math.floorDiv(local, CalendarMath.SECONDS_PER_DAY)) : LocalDate.now();
+        LocalTime time = pattern.hasTime()
+            ? LocalTime.ofSecondOfDay(Math.floorMod(local, (long) CalendarMath.SECONDS_PER_DAY)) : LocalTime.now();
+        return ZonedDateTime.of(date, time, ZoneId.systemDefault());
+    }
+
+    /**
+     * 解析 ASCII 字节，日期的规则与 {@link #parse(CharSequence, BuiltinPattern)} 相同，另外支持 {@link Zoro#ISO_DATETIME_PATTERN}
+     *
+     * @param buffer 字节，按绝对位置读取，不改变其 position
+     */
+    static @Nullable ZonedDateTime parse(ByteBuffer buffer, int offset, int length, String pattern) {
+        if (Zoro.ISO_DATETIME_PATTERN.equals(pattern)) {
+            return parseIso(buffer, offset, length);
+        }
+        BuiltinPattern builtin = BuiltinPattern.of(pattern);
+        if (builtin == null || length != builtin.length) {
+            return null;
+        }
+        long local = parseLocalEpochSecond(buffer, offset, builtin);
+        if (local == INVALID) {
+            return null;
+        }
+        return toZonedDateTime(local, builtin);
+    }
+
+    /**
+     * 解析 ASCII 字节中的日期时间，不创建任何对象。
+     * <p>日期的检查与 {@link #parseLocal(CharSequence, BuiltinPattern)} 相同，超过当月天数时取当月最后一天；
+     * 24 时不区分能否由 {@code DateTimeFormatter} 处理，一律返回 {@link #INVALID}。调用方需保证长度与模式一致</p>
+     *
+     * @param buffer 字节，按绝对位置读取，不改变其 position
+     * @param offset 起始位置，从该位置开始的 {@code pattern.length} 个字节为待解析的内容
+     * @return 以 UTC 表示的本地时间的 epoch 秒；模式不含日期时为当天的秒数，不含时间时为当天零点；
+     * 无法解析时返回 {@link #INVALID}
+     */
+    static long parseLocalEpochSecond(ByteBuffer buffer, int offset, BuiltinPattern pattern) {
+        int length = pattern.length;
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(offset + i);
+            if (pattern.isDigitAt(i)) {
+                if (b < '0' || b > '9') {
+                    return INVALID;
+                }
+            } else if (b != pattern.literalAt(i)) {
+                return INVALID;
+            }
+        }
+
+        long local = 0;
+        if (pattern.hasDate()) {
+            local = localDate(buffer, offset + pattern.yearIndex, offset + pattern.monthIndex,
+                offset + pattern.dayIndex);
+            if (local == INVALID) {
+                return INVALID;
+            }
+        }
+        if (pattern.hasTime()) {
+            int secondOfDay = secondOfDay(buffer, offset + pattern.hourIndex, offset + pattern.minuteIndex,
+                offset + pattern.secondIndex);
+            if (secondOfDay < 0) {
+                return INVALID;
+            }
+            local += secondOfDay;
+        }
+        return local;
+    }
+
+    /**
+     * 只处理 {@link Zoro#ISO_DATETIME_PATTERN} 的规范形式：三位毫秒，偏移量为 {@code Z} 或 {@code ±HH:MM}
+     */
+    private static @Nullable ZonedDateTime parseIso(ByteBuffer buffer, int offset, int length) {
+        if (length != ISO_LOCAL_TEMPLATE.length() + 1 && length != ISO_LOCAL_TEMPLATE.length() + 6) {
+            return null;
+        }
+        for (int i = 0; i < ISO_LOCAL_TEMPLATE.length(); i++) {
+            byte b = buffer.get(offset + i);
+            char c = ISO_LOCAL_TEMPLATE.charAt(i);
+            if (c == '0' ? !isDigit(b) : b != c) {
+                return null;
+            }
+        }
+        long local = localDate(buffer, offset, offset + 5, offset + 8);
+        int secondOfDay = secondOfDay(buffer, offset + 11, offset + 14, offset + 17);
+        if (local == INVALID || secondOfDay < 0) {
+            return null;
+        }
+        int millis = digits2(buffer, offset + 20) * 10 + (buffer.get(offset + 22) - '0');
+
+        int index = offset + ISO_LOCAL_TEMPLATE.length();
+        byte sign = buffer.get(index);
+        ZoneOffset zoneOffset;
+        if (length == ISO_LOCAL_TEMPLATE.length() + 1) {
+            if (sign != 'Z') {
+                return null;
+            }
+            zoneOffset = ZoneOffset.UTC;
+        } else {
+            if ((sign != '+' && sign != '-') || buffer.get(index + 3) != ':'
+                || !isDigit(buffer.get(index + 1)) || !isDigit(buffer.get(index + 2))
+                || !isDigit(buffer.get(index + 4)) || !isDigit(buffer.get(index + 5))) {
+                return null;
+            }
+            int seconds = digits2(buffer, index + 1) * 3600 + digits2(buffer, index + 4) * 60;
+            if (digits2(buffer, index + 4) > 59 || seconds > 18 * 3600) {
+                return null;
+            }
+            zoneOffset = ZoneOffset.ofTotalSeconds(sign == '-' ? -seconds : seconds);
+        }
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(local + secondOfDay, millis * 1000_000, ZoneOffset.UTC);
+        return ZonedDateTime.of(dateTime, zoneOffset);
+    }
+
+    private static long localDate(ByteBuffer buffer, int yearIndex, int monthIndex, int dayIndex) {
+        return localDate(digits4(buffer, yearIndex), digits2(buffer, monthIndex), digits2(buffer, dayIndex));
+    }
+
+    /**
+     * 与 SMART 规则一致：年份为 0、月份不在 1 ~ 12、日期不在 1 ~ 31 时无效，日期超过当月天数时取当月最后一天
+     *
+     * @return 当天零点以 UTC 表示的 epoch 秒，日期无效时返回 {@link #INVALID}
+     */
+    private static long localDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+        day = Math.min(day, CalendarMath.monthLength(year, month));
+        return CalendarTable.toEpochDay(year, month, day) * CalendarMath.SECONDS_PER_DAY;
+    }
+
+    /**
+     * @return 当天的秒数，时间无效时返回 -1
+     */
+    private static int secondOfDay(ByteBuffer buffer, int hourIndex, int minuteIndex, int secondIndex) {
+        int hour = digits2(buffer, hourIndex);
+        int minute = digits2(buffer, minuteIndex);
+        int second = digits2(buffer, secondIndex);
+        if (hour > 23 || minute > 59 || second > 59) {
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int digits2(ByteBuffer buffer, int index) {
+        return (buffer.get(index) - '0') * 10 + (buffer.get(index + 1) - '0');
+    }
+
+    private static int digits4(ByteBuffer buffer, int index) {
+        return digits2(buffer, index) * 100 + digits2(buffer, index + 2);
+    }
+
+    private static int digits2(CharSequence text, int index) {
+        return (text.charAt(index) - '0') * 10 + (text.charAt(index + 1) - '0');
+    }
+
+    private static int digits4(CharSequence text, int index) {
+        return digits2(text, index) * 100 + digits2(text, index + 2);
+    }
+
+}
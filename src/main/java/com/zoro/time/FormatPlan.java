@@ -0,0 +1,366 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * 模式编译后的格式化计划。
+ * <p>模式只由定长数字字段（{@code yyyy uuuu M MM d dd H HH m mm s ss S..S}）、偏移量（{@code XXX}）和字面量组成时，
+ * 编译为一组操作码，格式化时直接写出数字；否则（或年份超出 1~9999）交给 {@link DateTimeFormatter}。</p>
+ * <p>同样的模式在解析时，{@link #resolve(TemporalAccessor)} 可以直接由未解析的字段构建结果，不需要再次完整解析</p>
+ */
+final class FormatPlan {
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int HOUR = 4;
+    private static final int MINUTE = 5;
+    private static final int SECOND = 6;
+    private static final int FRACTION = 7;
+    private static final int OFFSET = 8;
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10_000, 100_000, 1000_000, 10_000_000,
+        100_000_000, 1000_000_000};
+
+    final DateTimeFormatter formatter;
+    /**
+     * 高 16 位为字段类型，低 16 位为宽度；字面量的低位为其在 {@link #literals} 中的下标
+     */
+    private final int[] ops;
+    private final String literals;
+    private final int length;
+    /**
+     * 字面量是否都是 ASCII 字符，是则可以直接按字节写出
+     */
+    private final boolean ascii;
+    /**
+     * 各字段类型出现的位掩码，{@link #resolvable} 为 {@code false} 时无意义
+     */
+    private final int fields;
+    /**
+     * 是否可以由 {@link #resolve(TemporalAccessor)} 构建解析结果：每个字段最多出现一次，年月日同时出现或都不出现，
+     * 时分秒和小数按顺序连续出现，与 {@link DateTimeFormatter} 能解析为日期和时间的组合一致
+     */
+    private final boolean resolvable;
+
+    private FormatPlan(DateTimeFormatter formatter, int[] ops, String literals, int length) {
+        this.formatter = formatter;
+        this.ops = ops;
+        this.literals = literals;
+        this.length = length;
+        this.ascii = literals != null && literals.chars().allMatch(c -> c < 0x80);
+
+        int fields = 0;
+        boolean resolvable = ops != null;
+        if (ops != null) {
+            for (int op : ops) {
+                int field = op >>> 16;
+                if (field != LITERAL) {
+                    resolvable &= (fields & 1 << field) == 0;
+                    fields |= 1 << field;
+                }
+            }
+        }
+        int date = fields & (1 << YEAR | 1 << MONTH | 1 << DAY);
+        int time = fields & (1 << HOUR | 1 << MINUTE | 1 << SECOND | 1 << FRACTION);
+        this.fields = fields;
+        int hms = 1 << HOUR | 1 << MINUTE | 1 << SECOND;
+        this.resolvable = resolvable && (date == 0 || date == (1 << YEAR | 1 << MONTH | 1 << DAY))
+            && (time == 0 || time == 1 << HOUR || time == (1 << HOUR | 1 << MINUTE) || time == hms
+            || time == (hms | 1 << FRACTION));
+    }
+
+    static FormatPlan compile(String pattern) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+
+        int[] ops = new int[pattern.length()];
+        int count = 0;
+        StringBuilder literals = new StringBuilder();
+        int length = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                int start = i;
+                while (i < pattern.length() && pattern.charAt(i) == c) {
+                    i++;
+                }
+                int width = i - start;
+                int field = field(c, width);
+                if (field < 0) {
+                    return new FormatPlan(formatter, null, null, 0);
+                }
+                ops[count++] = field << 16 | width;
+                length += width;
+            } else if (c == '\'') {
+                // 模式已由 DateTimeFormatter.ofPattern 校验，引号必然成对出现
+                i++;
+                if (pattern.charAt(i) == '\'') {
+                    ops[count++] = LITERAL << 16 | literals.length();
+                    literals.append('\'');
+                    length++;
+                    i++;
+                    continue;
+                }
+                while (true) {
+                    char q = pattern.charAt(i++);
+                    if (q == '\'') {
+                        if (i < pattern.length() && pattern.charAt(i) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    ops[count++] = LITERAL << 16 | literals.length();
+                    literals.append(q);
+                    length++;
+                }
+            } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                return new FormatPlan(formatter, null, null, 0);
+            } else {
+                ops[count++] = LITERAL << 16 | literals.length();
+                literals.append(c);
+                length++;
+                i++;
+            }
+        }
+        int[] compiled = new int[count];
+        System.arraycopy(ops, 0, compiled, 0, count);
+        return new FormatPlan(formatter, compiled, literals.toString(), length);
+    }
+
+    private static int field(char letter, int width) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return width == 4 ? YEAR : -1;
+            case 'M':
+                return width <= 2 ? MONTH : -1;
+            case 'd':
+                return width <= 2 ? DAY : -1;
+            case 'H':
+                return width <= 2 ? HOUR : -1;
+            case 'm':
+                return width <= 2 ? MINUTE : -1;
+            case 's':
+                return width <= 2 ? SECOND : -1;
+            case 'S':
+                return width <= 9 ? FRACTION : -1;
+            case 'X':
+                return width == 3 ? OFFSET : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * 由 {@link DateTimeFormatter#parseUnresolved} 的结果构建解析结果，规则与 {@link DateTimeFormatter} 的 SMART 规则一致：
+     * 日期超过当月天数时取当月最后一天；没有偏移量时使用系统默认时区，缺少的日期或时间取当前时间。
+     * 调用方需先检查各字段的取值范围
+     *
+     * @return 无法直接构建（模式不满足条件，或为 24:00）时返回 {@code null}
+     */
+    @Nullable ZonedDateTime resolve(TemporalAccessor parsed) {
+        if (!resolvable) {
+            return null;
+        }
+        LocalDate date;
+        if ((fields & 1 << YEAR) != 0) {
+            int year = (int) (parsed.isSupported(ChronoField.YEAR)
+                ? parsed.getLong(ChronoField.YEAR) : parsed.getLong(ChronoField.YEAR_OF_ERA));
+            int month = (int) parsed.getLong(ChronoField.MONTH_OF_YEAR);
+            int day = (int) parsed.getLong(ChronoField.DAY_OF_MONTH);
+            date = LocalDate.of(year, month, Math.min(day, CalendarMath.monthLength(year, month)));
+        } else {
+            date = LocalDate.now();
+        }
+        LocalTime time;
+        if ((fields & 1 << HOUR) != 0) {
+            int hour = (int) parsed.getLong(ChronoField.HOUR_OF_DAY);
+            if (hour == 24) {
+                return null;
+            }
+            time = LocalTime.of(hour, (int) valueOrZero(parsed, ChronoField.MINUTE_OF_HOUR),
+                (int) valueOrZero(parsed, ChronoField.SECOND_OF_MINUTE),
+                (int) valueOrZero(parsed, ChronoField.NANO_OF_SECOND));
+        } else {
+            time = LocalTime.now();
+        }
+        ZoneId zone = (fields & 1 << OFFSET) != 0
+            ? ZoneOffset.ofTotalSeconds((int) parsed.getLong(ChronoField.OFFSET_SECONDS)) : ZoneId.systemDefault();
+        return ZonedDateTime.of(date, time, zone);
+    }
+
+    private static long valueOrZero(TemporalAccessor parsed, ChronoField field) {
+        return parsed.isSupported(field) ? parsed.getLong(field) : 0;
+    }
+
+    String format(ZonedDateTime date) {
+        if (!canPrint(date)) {
+            return formatter.format(date);
+        }
+        StringBuilder buf = new StringBuilder(length);
+        formatTo(date, buf);
+        return buf.toString();
+    }
+
+    void formatTo(ZonedDateTime date, Appendable appendable) {
+        if (!canPrint(date)) {
+            formatter.formatTo(date, appendable);
+            return;
+        }
+        try {
+            print(date, appendable);
+        } catch (IOException e) {
+            throw new DateTimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按 ASCII 写入 {@code buffer} 的当前位置。
+     * <p>无法直接写出时交给 {@link DateTimeFormatter}，结果按 UTF-8 编码；空间不足时不改变 {@code buffer} 的位置</p>
+     *
+     * @throws BufferOverflowException 剩余空间不足
+     */
+    void formatTo(ZonedDateTime date, ByteBuffer buffer) {
+        int position = buffer.position();
+        try {
+            if (ascii && canPrint(date)) {
+                print(date, buffer);
+            } else {
+                buffer.put(formatter.format(date).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (BufferOverflowException e) {
+            buffer.position(position);
+            throw e;
+        }
+    }
+
+    private boolean canPrint(ZonedDateTime date) {
+        int year = date.getYear();
+        return ops != null && year >= 1 && year <= 9999;
+    }
+
+    private void print(ZonedDateTime date, Appendable out) throws IOException {
+        for (int op : ops) {
+            int width = op & 0xFFFF;
+            switch (op >>> 16) {
+                case LITERAL:
+                    out.append(literals.charAt(width));
+                    break;
+                case OFFSET:
+                    int seconds = date.getOffset().getTotalSeconds();
+                    if (seconds == 0) {
+                        out.append('Z');
+                        break;
+                    }
+                    out.append(seconds < 0 ? '-' : '+');
+                    seconds = Math.abs(seconds);
+                    appendPadded(out, seconds / 3600, 2);
+                    out.append(':');
+                    appendPadded(out, seconds / 60 % 60, 2);
+                    if (seconds % 60 != 0) {
+                        out.append(':');
+                        appendPadded(out, seconds % 60, 2);
+                    }
+                    break;
+                default:
+                    appendPadded(out, value(date, op), width);
+                    break;
+            }
+        }
+    }
+
+    private void print(ZonedDateTime date, ByteBuffer out) {
+        for (int op : ops) {
+            int width = op & 0xFFFF;
+            switch (op >>> 16) {
+                case LITERAL:
+                    out.put((byte) literals.charAt(width));
+                    break;
+                case OFFSET:
+                    int seconds = date.getOffset().getTotalSeconds();
+                    if (seconds == 0) {
+                        out.put((byte) 'Z');
+                        break;
+                    }
+                    out.put((byte) (seconds < 0 ? '-' : '+'));
+                    seconds = Math.abs(seconds);
+                    putPadded(out, seconds / 3600, 2);
+                    out.put((byte) ':');
+                    putPadded(out, seconds / 60 % 60, 2);
+                    if (seconds % 60 != 0) {
+                        out.put((byte) ':');
+                        putPadded(out, seconds % 60, 2);
+                    }
+                    break;
+                default:
+                    putPadded(out, value(date, op), width);
+                    break;
+            }
+        }
+    }
+
+    private static int value(ZonedDateTime date, int op) {
+        switch (op >>> 16) {
+            case YEAR:
+                return date.getYear();
+            case MONTH:
+                return date.getMonthValue();
+            case DAY:
+                return date.getDayOfMonth();
+            case HOUR:
+                return date.getHour();
+            case MINUTE:
+                return date.getMinute();
+            case SECOND:
+                return date.getSecond();
+            default:
+                return date.getNano() / POWERS_OF_TEN[9 - (op & 0xFFFF)];
+        }
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void appendPadded(Appendable out, int value, int width) throws IOException {
+        int digits = digits(value);
+        for (int i = digits; i < width; i++) {
+            out.append('0');
+        }
+        for (int p = digits - 1; p >= 0; p--) {
+            out.append((char) ('0' + value / POWERS_OF_TEN[p] % 10));
+        }
+    }
+
+    private static void putPadded(ByteBuffer out, int value, int width) {
+        int digits = digits(value);
+        for (int i = digits; i < width; i++) {
+            out.put((byte) '0');
+        }
+        for (int p = digits - 1; p >= 0; p--) {
+            out.put((byte) ('0' + value / POWERS_OF_TEN[p] % 10));
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.zoro.time;
+
+/**
+ * 模式缓存的统计快照，内置模式的访问同样计入命中次数
+ *
+ * @see Zoro#formatterCacheStats()
+ */
+public final class FormatterCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maximumSize;
+
+    FormatterCacheStats(long hitCount, long missCount, long evictionCount, int size, int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 当前缓存的自定义模式数量，不包括内置模式
+     *
+     * @return 缓存的模式数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public double hitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "FormatterCacheStats{" +
+            "hitCount=" + hitCount +
+            ", missCount=" + missCount +
+            ", evictionCount=" + evictionCount +
+            ", size=" + size +
+            ", maximumSize=" + maximumSize +
+            '}';
+    }
+
+}
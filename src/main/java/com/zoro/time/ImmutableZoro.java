@@ -0,0 +1,518 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.TemporalField;
+import java.time.temporal.WeekFields;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Objects;
+import java.util.TimeZone;
+
+/**
+ * 不可变的 {@link Zoro}。
+ * <p>访问器、加减和修改方法与 {@link Zoro} 相同，但修改方法返回新的实例，原实例不变。
+ * 所有字段都是 final 的，可以不经复制直接缓存或在线程间共享。
+ * 与 {@link Zoro} 之间通过 {@link Zoro#toImmutable()} 和 {@link #toZoro()} 互相转换，只包装同一个
+ * {@link ZonedDateTime}，不重新计算</p>
+ */
+public final class ImmutableZoro implements Serializable, Comparable<ImmutableZoro> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ZonedDateTime date;
+    private final DayOfWeek firstDayOfWeek;
+    private final int minimalDaysInFirstWeek;
+
+    ImmutableZoro(@NotNull ZonedDateTime date, @NotNull DayOfWeek firstDayOfWeek, int minimalDaysInFirstWeek) {
+        this.date = date;
+        this.firstDayOfWeek = firstDayOfWeek;
+        this.minimalDaysInFirstWeek = minimalDaysInFirstWeek;
+    }
+
+    static @NotNull ImmutableZoro wrap(@NotNull ZonedDateTime date) {
+        return new ImmutableZoro(date, DayOfWeek.MONDAY, 1);
+    }
+
+    private ImmutableZoro update(ZonedDateTime date) {
+        return date == this.date ? this : new ImmutableZoro(date, firstDayOfWeek, minimalDaysInFirstWeek);
+    }
+
+    public static @NotNull ImmutableZoro now() {
+        return wrap(Zoro.currentDate(ZoneId.systemDefault()));
+    }
+
+    public static @NotNull ImmutableZoro now(@NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+
+        return wrap(Zoro.currentDate(zone));
+    }
+
+    public static @NotNull ImmutableZoro parse(@NotNull CharSequence text, @NotNull String pattern) {
+        return Zoro.parse(text, pattern).toImmutable();
+    }
+
+    public static @NotNull ImmutableZoro create(long timestamp) {
+        return create(timestamp, ZoneId.systemDefault());
+    }
+
+    public static @NotNull ImmutableZoro create(long timestamp, @NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+
+        return wrap(ZoneOffsets.toZonedDateTime(Math.floorDiv(timestamp, 1000),
+            (int) Math.floorMod(timestamp, 1000) * 1000_000, zone));
+    }
+
+    public static @NotNull ImmutableZoro create(@NotNull Temporal temporal) {
+        return Zoro.create(temporal).toImmutable();
+    }
+
+    public static @NotNull ImmutableZoro create(@NotNull Temporal temporal, @NotNull ZoneId zone) {
+        return Zoro.create(temporal, zone).toImmutable();
+    }
+
+    public static @NotNull ImmutableZoro create(int year, int month, int dayOfMonth, int hour, int minute, int second,
+                                                int millSecond, @NotNull ZoneId zone) {
+        return wrap(ZonedDateTime.of(year, month, dayOfMonth, hour, minute, second, millSecond * 1000_000, zone));
+    }
+
+    public static @NotNull ImmutableZoro create(@NotNull Zoro zoro) {
+        Objects.requireNonNull(zoro, "zoro");
+
+        return zoro.toImmutable();
+    }
+
+    /**
+     * 与 {@link Zoro#range(Zoro, Zoro, DateUnit)} 相同，可以通过 {@link Range#immutables()} 以不可变的形式遍历
+     */
+    public static @NotNull Range range(@NotNull ImmutableZoro start, @NotNull ImmutableZoro end, DateUnit unit) {
+        return new Range(start.date, end.date, unit);
+    }
+
+    /**
+     * 转换为可变的 {@link Zoro}，包括一周的第一天等设置
+     *
+     * @return 新的 {@link Zoro} 实例
+     */
+    public @NotNull Zoro toZoro() {
+        return Zoro.wrap(date).firstDayOfWeek(firstDayOfWeek).minimalDaysInFirstWeek(minimalDaysInFirstWeek);
+    }
+
+    public ZoneId zone() {
+        return date.getZone();
+    }
+
+    public @NotNull ImmutableZoro firstDayOfWeek(@NotNull DayOfWeek week) {
+        Objects.requireNonNull(week, "week");
+
+        return new ImmutableZoro(date, week, minimalDaysInFirstWeek);
+    }
+
+    public @NotNull DayOfWeek firstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    /**
+     * @throws IllegalArgumentException 不在 1 到 7 之间
+     */
+    public @NotNull ImmutableZoro minimalDaysInFirstWeek(
+        @org.jetbrains.annotations.Range(from = 1, to = 7) int minimalDaysInFirstWeek) {
+        if (minimalDaysInFirstWeek < 1 || minimalDaysInFirstWeek > 7) {
+            throw new IllegalArgumentException("minimalDaysInFirstWeek: " + minimalDaysInFirstWeek);
+        }
+        return new ImmutableZoro(date, firstDayOfWeek, minimalDaysInFirstWeek);
+    }
+
+    @org.jetbrains.annotations.Range(from = 1, to = 7)
+    public int minimalDaysInFirstWeek() {
+        return minimalDaysInFirstWeek;
+    }
+
+    public boolean isBefore(@NotNull ImmutableZoro other) {
+        return compareTo(other) < 0;
+    }
+
+    public boolean isAfter(@NotNull ImmutableZoro other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * @return 所在季度，1~4
+     */
+    public int quarter() {
+        return (date.getMonthValue() - 1) / 3 + 1;
+    }
+
+    public int year() {
+        return date.getYear();
+    }
+
+    public int monthValue() {
+        return date.getMonthValue();
+    }
+
+    public Month month() {
+        return date.getMonth();
+    }
+
+    public int weekOfMonth() {
+        return date.get(WeekFields.of(firstDayOfWeek, minimalDaysInFirstWeek).weekOfMonth());
+    }
+
+    public int weekOfYear() {
+        return date.get(WeekFields.of(firstDayOfWeek, minimalDaysInFirstWeek).weekOfYear());
+    }
+
+    public DayOfWeek dayOfWeek() {
+        return date.getDayOfWeek();
+    }
+
+    public int dayOfWeekValue() {
+        return date.getDayOfWeek().getValue();
+    }
+
+    public int dayOfMonth() {
+        return date.getDayOfMonth();
+    }
+
+    public int dayOfYear() {
+        return date.getDayOfYear();
+    }
+
+    public int hour() {
+        return date.getHour();
+    }
+
+    public int minute() {
+        return date.getMinute();
+    }
+
+    public int second() {
+        return date.getSecond();
+    }
+
+    public int millisecond() {
+        return date.get(ChronoField.MILLI_OF_SECOND);
+    }
+
+    public int nano() {
+        return date.getNano();
+    }
+
+    public int get(TemporalField field) {
+        return date.get(field);
+    }
+
+    public String zodiacsSign() {
+        return Zoro.getZodiacSign(monthValue(), dayOfMonth());
+    }
+
+    public String chineseZodiacsSign() {
+        return Zoro.getChineseZodiacSign(year());
+    }
+
+    public int monthDays() {
+        return CalendarMath.monthLength(date.getYear(), date.getMonthValue());
+    }
+
+    public int yearDays() {
+        return CalendarMath.isLeapYear(date.getYear()) ? 366 : 365;
+    }
+
+    public boolean isLeapYear() {
+        return CalendarMath.isLeapYear(date.getYear());
+    }
+
+    public long timestamp() {
+        return date.toEpochSecond() * 1000 + date.getNano() / 1000_000;
+    }
+
+    public @NotNull ImmutableZoro addYears(long years) {
+        return update(date.plusYears(years));
+    }
+
+    public @NotNull ImmutableZoro addMonths(long months) {
+        return update(date.plusMonths(months));
+    }
+
+    public @NotNull ImmutableZoro addWeeks(long weeks) {
+        return update(date.plusWeeks(weeks));
+    }
+
+    public @NotNull ImmutableZoro addDays(long days) {
+        return update(date.plusDays(days));
+    }
+
+    public @NotNull ImmutableZoro addHours(long hours) {
+        return update(date.plusHours(hours));
+    }
+
+    public @NotNull ImmutableZoro addMinutes(long minutes) {
+        return update(date.plusMinutes(minutes));
+    }
+
+    public @NotNull ImmutableZoro addSeconds(long seconds) {
+        return update(date.plusSeconds(seconds));
+    }
+
+    public @NotNull ImmutableZoro addNanos(long nanos) {
+        return update(date.plusNanos(nanos));
+    }
+
+    /**
+     * 转换为指定时区的同一时刻
+     *
+     * @param zone 时区
+     * @return 时区相同时返回当前实例，否则返回新的实例
+     */
+    public @NotNull ImmutableZoro withZoneId(@NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        if (zone().equals(zone)) {
+            return this;
+        }
+
+        return update(ZoneOffsets.toZonedDateTime(date.toEpochSecond(), date.getNano(), zone));
+    }
+
+    public @NotNull ImmutableZoro withYear(int year) {
+        return update(date.withYear(year));
+    }
+
+    public @NotNull ImmutableZoro withMonth(int month) {
+        return update(date.withMonth(month));
+    }
+
+    public @NotNull ImmutableZoro withDayOfMonth(int dayOfMonth) {
+        return update(date.withDayOfMonth(dayOfMonth));
+    }
+
+    public @NotNull ImmutableZoro withDayOfYear(int dayOfYear) {
+        return update(date.withDayOfYear(dayOfYear));
+    }
+
+    public @NotNull ImmutableZoro withHour(int hour) {
+        return update(date.withHour(hour));
+    }
+
+    public @NotNull ImmutableZoro withMinute(int minute) {
+        return update(date.withMinute(minute));
+    }
+
+    public @NotNull ImmutableZoro withSecond(int second) {
+        return update(date.withSecond(second));
+    }
+
+    public @NotNull ImmutableZoro withLastDayOfMonth() {
+        return update(date.with(TemporalAdjusters.lastDayOfMonth()));
+    }
+
+    public @NotNull ImmutableZoro withFirstInMonth(DayOfWeek week) {
+        return update(date.with(TemporalAdjusters.firstInMonth(week)));
+    }
+
+    public @NotNull ImmutableZoro with(@NotNull TemporalAdjuster adjuster) {
+        return update(date.with(adjuster));
+    }
+
+    public long diffOfYears(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.YEARS, date, end.date);
+    }
+
+    public long diffOfMonths(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.MONTHS, date, end.date);
+    }
+
+    public long diffOfWeeks(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.WEEKS, date, end.date);
+    }
+
+    public long diffOfDays(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.DAYS, date, end.date);
+    }
+
+    public long diffOfHours(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.HOURS, date, end.date);
+    }
+
+    public long diffOfMinutes(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.MINUTES, date, end.date);
+    }
+
+    public long diffOfSeconds(@NotNull ImmutableZoro end) {
+        Objects.requireNonNull(end, "end");
+
+        return Zoro.diff(ChronoUnit.SECONDS, date, end.date);
+    }
+
+    /**
+     * @see Zoro#diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public @NotNull String diffForHumans() {
+        return diffForHumans(null, DiffLocale.ENGLISH);
+    }
+
+    /**
+     * @param other 参照时间，为 {@code null} 时与当前时间相比
+     * @see Zoro#diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public @NotNull String diffForHumans(@Nullable ImmutableZoro other) {
+        return diffForHumans(other, DiffLocale.ENGLISH);
+    }
+
+    /**
+     * @param other 参照时间，为 {@code null} 时与当前时间相比
+     * @see Zoro#diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public @NotNull String diffForHumans(@Nullable ImmutableZoro other, @NotNull DiffLocale locale) {
+        StringBuilder builder = new StringBuilder(24);
+        diffForHumansTo(other, locale, builder);
+        return builder.toString();
+    }
+
+    /**
+     * @param other 参照时间，为 {@code null} 时与当前时间相比
+     * @see Zoro#diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public void diffForHumansTo(@Nullable ImmutableZoro other, @NotNull DiffLocale locale,
+                                @NotNull StringBuilder builder) {
+        Zoro.diffForHumansTo(date, other == null ? null : other.date, locale, builder);
+    }
+
+    public String format(String pattern) {
+        return Zoro.format(date, pattern);
+    }
+
+    /**
+     * @see Zoro#formatTo(String, Appendable)
+     */
+    public void formatTo(@NotNull String pattern, @NotNull Appendable appendable) {
+        Zoro.formatTo(date, pattern, appendable);
+    }
+
+    /**
+     * @see Zoro#formatTo(String, ByteBuffer)
+     */
+    public void formatTo(@NotNull String pattern, @NotNull ByteBuffer buffer) {
+        Zoro.formatTo(date, pattern, buffer);
+    }
+
+    public Date toDate() {
+        return Date.from(date.toInstant());
+    }
+
+    /**
+     * @return 新的 {@link Calendar}，带有相同的时区和周的设置
+     */
+    public Calendar toCalendar() {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(zone()));
+        calendar.setTime(toDate());
+        calendar.setFirstDayOfWeek(firstDayOfWeek.getValue() % 7 + 1);
+        calendar.setMinimalDaysInFirstWeek(minimalDaysInFirstWeek);
+        return calendar;
+    }
+
+    public ZonedDateTime toZonedDateTime() {
+        return date;
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        return date.toLocalDateTime();
+    }
+
+    public LocalDate toLocalDate() {
+        return date.toLocalDate();
+    }
+
+    public LocalTime toLocalTime() {
+        return date.toLocalTime();
+    }
+
+    public Instant toInstant() {
+        return date.toInstant();
+    }
+
+    public boolean isSameDay(@Nullable ImmutableZoro other) {
+        if (other == null) {
+            return false;
+        }
+        return year() == other.year() && monthValue() == other.monthValue() && dayOfMonth() == other.dayOfMonth();
+    }
+
+    public boolean isSameTime(@Nullable ImmutableZoro other) {
+        return isSameTime(other, false);
+    }
+
+    /**
+     * @param containsNano 是否同时比较纳秒
+     */
+    public boolean isSameTime(@Nullable ImmutableZoro other, boolean containsNano) {
+        if (other == null) {
+            return false;
+        }
+        boolean isSame = hour() == other.hour() && minute() == other.minute() && second() == other.second();
+        return isSame && (!containsNano || nano() == other.nano());
+    }
+
+    /**
+     * 按时刻比较，精确到纳秒
+     */
+    @Override
+    public int compareTo(@NotNull ImmutableZoro o) {
+        Objects.requireNonNull(o);
+
+        int cmp = Long.compare(date.toEpochSecond(), o.date.toEpochSecond());
+        if (cmp == 0) {
+            cmp = date.getNano() - o.date.getNano();
+        }
+        return cmp;
+    }
+
+    @Override
+    public String toString() {
+        return date.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ImmutableZoro other = (ImmutableZoro) o;
+        return date.equals(other.date) && firstDayOfWeek == other.firstDayOfWeek
+            && minimalDaysInFirstWeek == other.minimalDaysInFirstWeek;
+    }
+
+    @Override
+    public int hashCode() {
+        return date.hashCode();
+    }
+
+}
@@ -0,0 +1,392 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * {@link Range} 的区间索引，用于查询包含某个时刻或与某个时间段重叠的范围，以及合并重叠的范围。
+ * <p>实现为按开始时间排序的 AVL 树，每个节点额外记录子树中最大的结束时间，查询时跳过不可能重叠的子树。
+ * 键是 {@link Range#startMillis()} 和 {@link Range#endMillis()} 两个毫秒时间戳，都包含在区间内。
+ * 添加、删除为 O(log n)，查询为 O(log n + k·log n)，k 为结果的个数；{@link #of(Collection)} 排序后一次建树，为 O(n log n)</p>
+ * <p>同一个范围实例（按引用判断）只会被索引一次，结束时间早于开始时间的范围不能添加。查询结果按开始时间排序</p>
+ * <pre>{@code
+ * IntervalIndex index = IntervalIndex.of(ranges);
+ * List<Range> busy = index.stab(Zoro.now());
+ * long[] merged = index.union();
+ * }</pre>
+ * <p>不是线程安全的，多个线程同时修改时需要外部同步</p>
+ */
+public final class IntervalIndex {
+
+    private static final Comparator<Node> ORDER = (a, b) -> compare(a, b.start, b.end, b.seq);
+
+    private final Map<Range, Node> nodes = new IdentityHashMap<>();
+    private Node root;
+    private long nextSeq;
+
+    public IntervalIndex() {
+    }
+
+    /**
+     * 批量创建索引
+     *
+     * @throws IllegalArgumentException 有范围的结束时间早于开始时间
+     */
+    public static @NotNull IntervalIndex of(@NotNull Collection<? extends Range> ranges) {
+        Objects.requireNonNull(ranges, "ranges");
+
+        IntervalIndex index = new IntervalIndex();
+        Node[] sorted = new Node[ranges.size()];
+        int count = 0;
+        for (Range range : ranges) {
+            Node node = index.newNode(range);
+            if (index.nodes.putIfAbsent(range, node) == null) {
+                sorted[count++] = node;
+            }
+        }
+        Arrays.sort(sorted, 0, count, ORDER);
+        index.root = build(sorted, 0, count - 1);
+        return index;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    public boolean contains(@NotNull Range range) {
+        return nodes.containsKey(Objects.requireNonNull(range, "range"));
+    }
+
+    /**
+     * @return 是否添加成功，已经在索引中时返回 {@code false}
+     * @throws IllegalArgumentException 结束时间早于开始时间
+     */
+    public boolean add(@NotNull Range range) {
+        if (nodes.containsKey(Objects.requireNonNull(range, "range"))) {
+            return false;
+        }
+
+        Node node = newNode(range);
+        nodes.put(range, node);
+        root = insert(root, node);
+        return true;
+    }
+
+    /**
+     * @return 是否删除成功，不在索引中时返回 {@code false}
+     */
+    public boolean remove(@NotNull Range range) {
+        Node node = nodes.remove(Objects.requireNonNull(range, "range"));
+        if (node == null) {
+            return false;
+        }
+
+        root = delete(root, node.start, node.end, node.seq);
+        return true;
+    }
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * @return 包含该时刻的范围，按开始时间排序
+     */
+    public @NotNull List<Range> stab(long epochMillis) {
+        return overlapping(epochMillis, epochMillis);
+    }
+
+    /**
+     * @return 包含该时刻的范围，按开始时间排序
+     */
+    public @NotNull List<Range> stab(@NotNull Zoro zoro) {
+        return stab(Objects.requireNonNull(zoro, "zoro").timestamp());
+    }
+
+    /**
+     * @param from 开始时间，毫秒时间戳，包含
+     * @param to   结束时间，毫秒时间戳，包含
+     * @return 与该时间段重叠的范围，按开始时间排序
+     */
+    public @NotNull List<Range> overlapping(long from, long to) {
+        List<Range> result = new ArrayList<>();
+        forEachOverlapping(from, to, result::add);
+        return result;
+    }
+
+    /**
+     * @return 与该范围重叠的范围，按开始时间排序，包括范围本身
+     */
+    public @NotNull List<Range> overlapping(@NotNull Range range) {
+        Objects.requireNonNull(range, "range");
+
+        return overlapping(range.startMillis(), range.endMillis());
+    }
+
+    /**
+     * 按开始时间的顺序遍历与该时间段重叠的范围，不创建结果列表
+     *
+     * @param from 开始时间，毫秒时间戳，包含
+     * @param to   结束时间，毫秒时间戳，包含
+     */
+    public void forEachOverlapping(long from, long to, @NotNull Consumer<? super Range> action) {
+        Objects.requireNonNull(action, "action");
+        if (from <= to) {
+            visit(root, from, to, action);
+        }
+    }
+
+    /**
+     * 合并所有范围，重叠或相接（后一个的开始时间紧接前一个的结束时间之后的一毫秒）的范围合并为一个
+     *
+     * @return 互不重叠的时间段，按时间排序，依次为 {@code [开始, 结束, 开始, 结束, ...]}，都包含在内
+     */
+    public @NotNull long[] union() {
+        return union(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 合并与该时间段重叠的范围，合并后的时间段不会被截断到 {@code [from, to]} 之内
+     *
+     * @param from 开始时间，毫秒时间戳，包含
+     * @param to   结束时间，毫秒时间戳，包含
+     * @return 互不重叠的时间段，按时间排序，依次为 {@code [开始, 结束, 开始, 结束, ...]}，都包含在内
+     */
+    public @NotNull long[] union(long from, long to) {
+        Union union = new Union();
+        if (from <= to) {
+            merge(root, from, to, union);
+        }
+        return union.toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalIndex{size=" + nodes.size() + '}';
+    }
+
+    private Node newNode(Range range) {
+        Objects.requireNonNull(range, "range");
+        if (range.endMillis() < range.startMillis()) {
+            throw new IllegalArgumentException("range end is before start: " + range);
+        }
+        return new Node(range, nextSeq++);
+    }
+
+    private static void visit(Node node, long from, long to, Consumer<? super Range> action) {
+        while (node != null && node.maxEnd >= from) {
+            visit(node.left, from, to, action);
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                action.accept(node.range);
+            }
+            node = node.right;
+        }
+    }
+
+    private static void merge(Node node, long from, long to, Union union) {
+        while (node != null && node.maxEnd >= from) {
+            merge(node.left, from, to, union);
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                union.add(node.start, node.end);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node build(Node[] sorted, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        Node node = sorted[mid];
+        node.left = build(sorted, low, mid - 1);
+        node.right = build(sorted, mid + 1, high);
+        update(node);
+        return node;
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (ORDER.compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, long start, long end, long seq) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(node, start, end, seq);
+        if (cmp > 0) {
+            node.left = delete(node.left, start, end, seq);
+        } else if (cmp < 0) {
+            node.right = delete(node.right, start, end, seq);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(Node node, long start, long end, long seq) {
+        if (node.start != start) {
+            return Long.compare(node.start, start);
+        }
+        if (node.end != end) {
+            return Long.compare(node.end, end);
+        }
+        return Long.compare(node.seq, seq);
+    }
+
+    private static final class Node {
+
+        private final Range range;
+        private final long start;
+        private final long end;
+        /**
+         * 添加的顺序，区分开始和结束时间都相同的范围
+         */
+        private final long seq;
+        /**
+         * 子树中最大的结束时间
+         */
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Range range, long seq) {
+            this.range = range;
+            this.start = range.startMillis();
+            this.end = range.endMillis();
+            this.seq = seq;
+            this.maxEnd = end;
+        }
+
+    }
+
+    /**
+     * 按开始时间的顺序接收时间段，与上一个时间段重叠或首尾相接时合并。
+     * 端点都包含在内，开始时间紧接上一个结束时间之后的一毫秒（如 {@code [0, 9]} 和 {@code [10, 19]}）也算相接
+     */
+    private static final class Union {
+
+        private long[] intervals = new long[16];
+        private int size;
+
+        void add(long start, long end) {
+            // 写作 start - 1 而不是 end + 1，上一个结束时间为 Long.MAX_VALUE 时不会溢出
+            if (size > 0 && (start <= intervals[size - 1] || start - 1 == intervals[size - 1])) {
+                intervals[size - 1] = Math.max(intervals[size - 1], end);
+                return;
+            }
+            if (size == intervals.length) {
+                intervals = Arrays.copyOf(intervals, size * 2);
+            }
+            intervals[size++] = start;
+            intervals[size++] = end;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(intervals, size);
+        }
+
+    }
+
+}
@@ -2,101 +2,493 @@ package com.zoro.time;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Range implements Iterable<Zoro> {
 
-    private final Zoro start;
-    private final Zoro end;
     private final DateUnit unit;
+    private final ZonedDateTime startDate;
+    private final ZonedDateTime endDate;
+    private final long startMillis;
+    private final long endMillis;
+    private final ZoneOffsets offsets;
+    private final long startEpochDay;
+    private final int startSecondOfDay;
+    private final long size;
 
-    Range(Zoro start, Zoro end, DateUnit unit) {
-        this.start = start;
-        this.end = end;
+    /**
+     * {@link ZonedDateTime} 不可变，直接保存起止时间，不需要复制
+     */
+    Range(ZonedDateTime startDate, ZonedDateTime endDate, DateUnit unit) {
         this.unit = unit;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startMillis = millis(startDate);
+        this.endMillis = millis(endDate);
+        this.offsets = ZoneOffsets.of(startDate.getZone());
+        this.startEpochDay = startDate.toLocalDate().toEpochDay();
+        this.startSecondOfDay = startDate.toLocalTime().toSecondOfDay();
+        this.size = elementCount();
     }
 
     @NotNull
     @Override
     public Iterator<Zoro> iterator() {
-        return new RangeIterator(this.start, this.end, this.unit);
+        return new RangeIterator(this);
     }
 
     @Override
     public void forEach(Consumer<? super Zoro> action) {
         Objects.requireNonNull(action);
 
-        for (Zoro t : this) {
-            action.accept(t);
-        }
+        new RangeIterator(this).forEachRemaining(action);
     }
 
     public <T> List<T> forEach(@NotNull Function<? super Zoro, T> function) {
         Objects.requireNonNull(function);
 
-        List<T> list = new LinkedList<>();
-        for (Zoro t : this) {
-            list.add(function.apply(t));
-        }
+        // 初始容量有上限，很长的范围（如多年的逐秒范围）按需扩容，不预先分配巨大的数组
+        List<T> list = new ArrayList<>((int) Math.min(size, 1 << 16));
+        forEach((Consumer<Zoro>) t -> list.add(function.apply(t)));
         return list;
     }
 
+    /**
+     * 返回的 {@link Spliterator} 可以按下标在 O(1) 时间内拆分，适用于并行流
+     */
     @Override
     public Spliterator<Zoro> spliterator() {
-        throw new UnsupportedOperationException("not support spliterator");
+        return new RangeSpliterator<>(this, 0, size, Zoro::wrap);
+    }
+
+    public Stream<Zoro> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<Zoro> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * 以 {@link ImmutableZoro} 的形式遍历，元素不可变，可以直接缓存或在线程间共享，不需要复制
+     */
+    public @NotNull Iterable<ImmutableZoro> immutables() {
+        return () -> Spliterators.iterator(immutableSpliterator());
+    }
+
+    public @NotNull Stream<ImmutableZoro> immutableStream() {
+        return StreamSupport.stream(immutableSpliterator(), false);
+    }
+
+    private Spliterator<ImmutableZoro> immutableSpliterator() {
+        return new RangeSpliterator<>(this, 0, size, ImmutableZoro::wrap);
+    }
+
+    /**
+     * @return 开始时间，新的 {@link Zoro} 实例
+     */
+    public @NotNull Zoro start() {
+        return Zoro.wrap(startDate);
+    }
+
+    /**
+     * @return 结束时间（包含），新的 {@link Zoro} 实例
+     */
+    public @NotNull Zoro end() {
+        return Zoro.wrap(endDate);
+    }
+
+    public long startMillis() {
+        return startMillis;
+    }
+
+    public long endMillis() {
+        return endMillis;
+    }
+
+    public @NotNull DateUnit unit() {
+        return unit;
+    }
+
+    /**
+     * 判断两个范围的时间段是否有重叠，按毫秒比较，首尾相接也视为重叠
+     *
+     * @param other 另一个范围
+     * @return 结束时间早于开始时间的范围与任何范围都不重叠
+     */
+    public boolean overlaps(@NotNull Range other) {
+        Objects.requireNonNull(other, "other");
+
+        return startMillis <= endMillis && other.startMillis <= other.endMillis
+            && startMillis <= other.endMillis && other.startMillis <= endMillis;
+    }
+
+    /**
+     * 范围内的元素个数
+     *
+     * @return 元素个数，结束时间早于开始时间时为 0
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 获取第 index 个元素，等价于在开始时间上增加 index 个单位。
+     * <p>年、月按日历计算，例如从 1 月 31 日开始按月获取，依次为 2 月 28 日（或 29 日）、3 月 31 日</p>
+     *
+     * @param index 下标，从 0 开始
+     * @return 新的 {@link Zoro} 实例
+     * @throws IndexOutOfBoundsException 下标超出范围
+     */
+    public @NotNull Zoro get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elementAt(index);
+    }
+
+    /**
+     * 获取指定时间在范围内的下标，按毫秒比较（与 {@link Zoro#compareTo(Zoro)} 一致）
+     *
+     * @param zoro 指定的时间
+     * @return 下标，不在范围内或不是范围内的某一步时返回 -1
+     */
+    public long indexOf(@NotNull Zoro zoro) {
+        Objects.requireNonNull(zoro);
+
+        long millis = zoro.timestamp();
+        if (millis < startMillis || millis > endMillis) {
+            return -1;
+        }
+        long delta = millis - startMillis;
+        switch (unit) {
+            case HOUR:
+                return delta % 3600_000 == 0 ? delta / 3600_000 : -1;
+            case MINUTE:
+                return delta % 60_000 == 0 ? delta / 60_000 : -1;
+            case SECOND:
+                return delta % 1000 == 0 ? delta / 1000 : -1;
+            default:
+                long estimate = between(zoro.toZonedDateTime());
+                for (long i = Math.max(0, estimate - 1); i <= estimate + 1 && i < size; i++) {
+                    if (millis(dateAt(i)) == millis) {
+                        return i;
+                    }
+                }
+                return -1;
+        }
+    }
+
+    public boolean contains(@NotNull Zoro zoro) {
+        return indexOf(zoro) >= 0;
+    }
+
+    /**
+     * 以 {@link List} 的形式访问范围内的元素，不会预先生成所有元素。
+     * <p>返回的列表只读，支持随机访问，{@code get}、{@code indexOf}、{@code contains} 均为 O(1)</p>
+     *
+     * @return 只读的列表视图
+     */
+    public @NotNull List<Zoro> asList() {
+        return new RangeList(this);
+    }
+
+    private long elementCount() {
+        if (endMillis < startMillis) {
+            return 0;
+        }
+        switch (unit) {
+            case HOUR:
+                return (endMillis - startMillis) / 3600_000 + 1;
+            case MINUTE:
+                return (endMillis - startMillis) / 60_000 + 1;
+            case SECOND:
+                return (endMillis - startMillis) / 1000 + 1;
+            default:
+                // 按本地日期估算，再校正夏令时和月末带来的偏差
+                long last = between(endDate);
+                while (millis(dateAt(last + 1)) <= endMillis) {
+                    last++;
+                }
+                while (last >= 0 && millis(dateAt(last)) > endMillis) {
+                    last--;
+                }
+                return last + 1;
+        }
+    }
+
+    private long between(ZonedDateTime date) {
+        switch (unit) {
+            case YEAR:
+                return ChronoUnit.YEARS.between(startDate, date);
+            case MONTH:
+                return ChronoUnit.MONTHS.between(startDate, date);
+            default:
+                return ChronoUnit.DAYS.between(startDate, date);
+        }
+    }
+
+    private Zoro elementAt(long index) {
+        return Zoro.wrap(recordedDateAt(index));
+    }
+
+    /**
+     * 与 {@link #dateAt(long)} 相同，同时通知监听器
+     */
+    private ZonedDateTime recordedDateAt(long index) {
+        if (ZoroListeners.ENABLED) {
+            ZoroListeners.LISTENER.onRangeElements(unit, 1);
+        }
+        return dateAt(index);
+    }
+
+    /**
+     * 第 index 个元素，等价于在起点上增加 index 个单位
+     */
+    private ZonedDateTime dateAt(long index) {
+        switch (unit) {
+            case YEAR:
+                return plusMonths(index * 12);
+            case MONTH:
+                return plusMonths(index);
+            case DAY:
+                return atEpochDay(startEpochDay + index);
+            case HOUR:
+                return ofEpochSecond(startDate.toEpochSecond() + index * 3600);
+            case MINUTE:
+                return ofEpochSecond(startDate.toEpochSecond() + index * 60);
+            default:
+                return ofEpochSecond(startDate.toEpochSecond() + index);
+        }
+    }
+
+    /**
+     * 与 {@link ZonedDateTime#plusMonths(long)} 一致，日期超出当月天数时取当月最后一天
+     */
+    private ZonedDateTime plusMonths(long months) {
+        long total = startDate.getYear() * 12L + startDate.getMonthValue() - 1 + months;
+        long year = Math.floorDiv(total, 12);
+        int month = (int) Math.floorMod(total, 12L) + 1;
+        int day = Math.min(startDate.getDayOfMonth(), CalendarMath.monthLength(year, month));
+        return atEpochDay(CalendarTable.toEpochDay(year, month, day));
+    }
+
+    /**
+     * 指定日期上与开始时间相同的本地时间，夏令时间隙和重叠的处理与 {@link ZonedDateTime#ofLocal} 一致
+     */
+    private ZonedDateTime atEpochDay(long epochDay) {
+        long local = epochDay * CalendarMath.SECONDS_PER_DAY + startSecondOfDay;
+        return ofEpochSecond(offsets.toEpochSecond(local, startDate.getOffset()));
+    }
+
+    private ZonedDateTime ofEpochSecond(long epochSecond) {
+        return ZoneOffsets.toZonedDateTime(epochSecond, startDate.getNano(), startDate.getZone());
+    }
+
+    private static long millis(ZonedDateTime date) {
+        return date.toEpochSecond() * 1000 + date.getNano() / 1000_000;
     }
 
     public static class RangeIterator implements Iterator<Zoro> {
 
-        private final Zoro end;
-        private final DateUnit unit;
-        private Zoro next;
+        private final Range range;
+        private ZonedDateTime next;
+        private long nextMillis;
+        private long index;
 
-        RangeIterator(Zoro start, Zoro end, DateUnit unit) {
-            this.end = end;
-            this.unit = unit;
-            this.next = start;
+        RangeIterator(Range range) {
+            this.range = range;
+            this.next = range.startDate;
+            this.nextMillis = range.startMillis;
         }
 
         @Override
         public boolean hasNext() {
-            return next.compareTo(end) <= 0;
+            return nextMillis <= range.endMillis;
         }
 
         @Override
         public Zoro next() {
-            Zoro result = next;
-            next = add(Zoro.create(next), unit);
-            return result;
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (ZoroListeners.ENABLED) {
+                ZoroListeners.LISTENER.onRangeElements(range.unit, 1);
+            }
+            return Zoro.wrap(advance());
         }
 
-        private static Zoro add(Zoro zoro, DateUnit unit) {
-            switch (unit) {
-                case YEAR:
-                    return zoro.addYears(1);
-                case MONTH:
-                    return zoro.addMonths(1);
-                case DAY:
-                    return zoro.addDays(1);
-                case HOUR:
-                    return zoro.addHours(1);
-                case MINUTE:
-                    return zoro.addMinutes(1);
-                default:
-                    return zoro.addSeconds(1);
+        /**
+         * 遍历剩余的元素，结束时（包括 {@code action} 抛出异常时）一次性通知监听器
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super Zoro> action) {
+            Objects.requireNonNull(action);
+
+            long count = 0;
+            try {
+                while (hasNext()) {
+                    count++;
+                    action.accept(Zoro.wrap(advance()));
+                }
+            } finally {
+                if (ZoroListeners.ENABLED && count > 0) {
+                    ZoroListeners.LISTENER.onRangeElements(range.unit, count);
+                }
             }
         }
 
+        private ZonedDateTime advance() {
+            ZonedDateTime result = next;
+            next = range.dateAt(++index);
+            nextMillis = millis(next);
+            return result;
+        }
+
         @Override
         public void remove() {
             throw new UnsupportedOperationException("not support remove");
         }
     }
 
+    static final class RangeList extends AbstractList<Zoro> implements RandomAccess {
+
+        private final Range range;
+
+        RangeList(Range range) {
+            this.range = range;
+        }
+
+        @Override
+        public Zoro get(int index) {
+            return range.get(index);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(range.size, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof Zoro)) {
+                return -1;
+            }
+            // List 的约定以 equals 判断，需排除同一时刻但时区不同的实例；查找不是产出元素，不通知监听器
+            long index = range.indexOf((Zoro) o);
+            if (index < 0 || index > Integer.MAX_VALUE || !Zoro.wrap(range.dateAt(index)).equals(o)) {
+                return -1;
+            }
+            return (int) index;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public Iterator<Zoro> iterator() {
+            return range.iterator();
+        }
+
+        @Override
+        public Spliterator<Zoro> spliterator() {
+            return range.spliterator();
+        }
+    }
+
+    static final class RangeSpliterator<T> implements Spliterator<T> {
+
+        private final Range range;
+        private long index;
+        private final long fence;
+        private final Function<ZonedDateTime, T> mapper;
+
+        RangeSpliterator(Range range, long index, long fence, Function<ZonedDateTime, T> mapper) {
+            this.range = range;
+            this.index = index;
+            this.fence = fence;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(mapper.apply(range.recordedDateAt(index++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+
+            long i = index;
+            long count = 0;
+            index = fence;
+            try {
+                for (; i < fence; i++) {
+                    count++;
+                    action.accept(mapper.apply(range.dateAt(i)));
+                }
+            } finally {
+                // 整批通知一次监听器，action 抛出异常时只计入已经生成的元素
+                if (ZoroListeners.ENABLED && count > 0) {
+                    ZoroListeners.LISTENER.onRangeElements(range.unit, count);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long lo = index;
+            long mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new RangeSpliterator<>(range, lo, mid, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.SIZED
+                | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,130 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * {@link Zoro#parseAuto(CharSequence)} 能识别的文本格式，按长度和分隔符的位置区分，互不重叠。
+ * <p>纯数字按位数区分：8 位和 14 位为日期，10 位为秒级时间戳（当前的 Unix 时间戳为 10 位），
+ * 13 位为毫秒时间戳；11、12 位无法确定单位，不予识别</p>
+ */
+enum TextFormat {
+
+    PURE_DATE(Zoro.PURE_DATE_PATTERN, "00000000", false),
+    PURE_DATETIME(Zoro.PURE_DATETIME_PATTERN, "00000000000000", false),
+    NORMAL_DATE(Zoro.NORMAL_DATE_PATTERN, "0000-00-00", false),
+    NORMAL_DATETIME(Zoro.NORMAL_DATETIME_PATTERN, "0000-00-00 00:00:00", false),
+    NORMAL_TIME(Zoro.NORMAL_TIME_PATTERN, "00:00:00", false),
+    ISO_DATETIME(Zoro.ISO_DATETIME_PATTERN, "0000-00-00T00:00:00.000", true),
+    ISO_DATETIME_SECONDS("yyyy-MM-dd'T'HH:mm:ssXXX", "0000-00-00T00:00:00", true),
+    /**
+     * 10 位数字，秒级时间戳，覆盖 2001-09-09 ~ 2286-11-20
+     */
+    EPOCH_SECONDS("0000000000", 1000),
+    /**
+     * 13 位数字，毫秒时间戳，覆盖 2001-09-09 ~ 2286-11-20
+     */
+    EPOCH_MILLIS("0000000000000", 1);
+
+    private static final TextFormat[] FORMATS = values();
+
+    /**
+     * 为 {@code null} 时表示时间戳
+     */
+    final String pattern;
+    /**
+     * 文本的形状，{@code 0} 表示数字，其余为字面量
+     */
+    private final String template;
+    /**
+     * 形状之后是否跟有 {@code Z} 或 {@code ±HH:MM} 形式的偏移量
+     */
+    private final boolean offset;
+    /**
+     * 时间戳每个单位的毫秒数
+     */
+    private final long millisPerUnit;
+
+    TextFormat(String pattern, String template, boolean offset) {
+        this.pattern = pattern;
+        this.template = template;
+        this.offset = offset;
+        this.millisPerUnit = 0;
+    }
+
+    TextFormat(String template, long millisPerUnit) {
+        this.pattern = null;
+        this.template = template;
+        this.offset = false;
+        this.millisPerUnit = millisPerUnit;
+    }
+
+    static @Nullable TextFormat classify(CharSequence text) {
+        for (TextFormat format : FORMATS) {
+            if (format.matches(text)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    boolean matches(CharSequence text) {
+        int length = text.length();
+        int n = template.length();
+        if (offset) {
+            if (length == n + 1) {
+                if (text.charAt(n) != 'Z') {
+                    return false;
+                }
+            } else if (length == n + 6) {
+                char sign = text.charAt(n);
+                if ((sign != '+' && sign != '-') || text.charAt(n + 3) != ':'
+                    || !digits(text, n + 1, n + 3) || !digits(text, n + 4, n + 6)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        } else if (length != n) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            char t = template.charAt(i);
+            char c = text.charAt(i);
+            if (t == '0' ? c < '0' || c > '9' : c != t) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 调用前需确认 {@link #matches(CharSequence)}
+     */
+    Zoro parse(CharSequence text) {
+        if (pattern != null) {
+            return Zoro.parse(text, pattern);
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return Zoro.create(value * millisPerUnit);
+    }
+
+    static DateTimeParseException unrecognized(CharSequence text) {
+        return new DateTimeParseException("Text '" + text + "' could not be parsed: unrecognized format", text, 0);
+    }
+
+    private static boolean digits(CharSequence text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
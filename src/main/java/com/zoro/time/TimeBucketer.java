@@ -0,0 +1,309 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 将时间戳按固定的步长分桶，如 5 分钟、1 小时、本地的 1 天或 1 周。
+ * <p>每个方法都是 {@code long → long} 的纯函数，只做整数运算，不创建对象：</p>
+ * <ul>
+ *     <li>{@link #floor(long)}：所在桶的开始时间</li>
+ *     <li>{@link #ceil(long)}：不早于该时间的第一个桶的开始时间</li>
+ *     <li>{@link #index(long)}：所在桶的下标，相邻的桶下标相差 1，可以直接用作数组下标的偏移</li>
+ *     <li>{@link #startOf(long)}：下标对应的桶的开始时间</li>
+ * </ul>
+ * <p>天、周、月、年按本地日历分桶，每个桶从本地时间的 0 点开始，长度随夏令时变化（如 23 或 25 小时）；
+ * 0 点落在夏令时间隙中时从间隙之后开始。时、分、秒是固定长度的桶，在偏移量不变的每一段时间内按当时的本地时间对齐，
+ * 偏移量在历史上变化过的时区（如 America/Caracas）也对齐到当时的整点；偏移量变化的时刻总是桶的边界，
+ * 变化量不是桶长度的整数倍时，变化点前后的两个桶会短一些。夏令时结束时重复的本地时间分属不同的桶，下标也不同。
+ * 1900 年以前和 2200 年以后（仍有夏令时规则的时区）的固定长度桶按窗口边缘的偏移量对齐。
+ * 下标以 1970-01-01 所在的桶为起点</p>
+ * <pre>{@code
+ * TimeBucketer fiveMinutes = TimeBucketer.of(DateUnit.MINUTE, 5, Zoro.SHANG_HAI);
+ * long bucket = fiveMinutes.floor(event.timestamp());
+ * }</pre>
+ * <p>实例不可变，可以在多个线程中共享</p>
+ */
+public final class TimeBucketer {
+
+    /**
+     * 1970-01-01 是周四
+     */
+    private static final int EPOCH_DAY_OF_WEEK = 4;
+
+    private final DateUnit unit;
+    private final int step;
+    private final ZoneId zone;
+    private final ZoneOffsets offsets;
+    private final boolean weeks;
+    /**
+     * 按周分桶时，1970 年的第一个“每周第一天”的 epoch day
+     */
+    private final int weekAnchor;
+    /**
+     * 时、分、秒的桶，其余单位为 {@code null}
+     */
+    private final FixedGrid grid;
+
+    private TimeBucketer(DateUnit unit, int step, ZoneId zone, boolean weeks, int weekAnchor) {
+        this.unit = unit;
+        this.step = step;
+        this.zone = zone;
+        this.offsets = ZoneOffsets.of(zone);
+        this.weeks = weeks;
+        this.weekAnchor = weekAnchor;
+        long stepMillis;
+        switch (unit) {
+            case HOUR:
+                stepMillis = step * 3600_000L;
+                break;
+            case MINUTE:
+                stepMillis = step * 60_000L;
+                break;
+            case SECOND:
+                stepMillis = step * 1000L;
+                break;
+            default:
+                stepMillis = 0;
+        }
+        this.grid = stepMillis == 0 ? null : new FixedGrid(offsets, stepMillis);
+    }
+
+    /**
+     * @param unit 单位
+     * @param step 每个桶包含的单位数
+     * @param zone 时区
+     * @throws IllegalArgumentException {@code step < 1}
+     */
+    public static @NotNull TimeBucketer of(@NotNull DateUnit unit, int step, @NotNull ZoneId zone) {
+        Objects.requireNonNull(unit, "unit");
+        Objects.requireNonNull(zone, "zone");
+        if (step < 1) {
+            throw new IllegalArgumentException("step < 1");
+        }
+
+        return new TimeBucketer(unit, step, zone, false, 0);
+    }
+
+    /**
+     * 按周分桶
+     *
+     * @param step           每个桶包含的周数
+     * @param firstDayOfWeek 每周的第一天
+     * @param zone           时区
+     * @throws IllegalArgumentException {@code step < 1}
+     */
+    public static @NotNull TimeBucketer weeks(int step, @NotNull DayOfWeek firstDayOfWeek, @NotNull ZoneId zone) {
+        Objects.requireNonNull(firstDayOfWeek, "firstDayOfWeek");
+        Objects.requireNonNull(zone, "zone");
+        if (step < 1) {
+            throw new IllegalArgumentException("step < 1");
+        }
+
+        int anchor = Math.floorMod(firstDayOfWeek.getValue() - EPOCH_DAY_OF_WEEK, 7);
+        return new TimeBucketer(DateUnit.DAY, step, zone, true, anchor);
+    }
+
+    public @NotNull ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * @return 所在桶的开始时间，毫秒时间戳
+     */
+    public long floor(long epochMillis) {
+        if (grid != null) {
+            return grid.floor(epochMillis);
+        }
+        return startOf(index(epochMillis));
+    }
+
+    /**
+     * @return 不早于该时间的第一个桶的开始时间，毫秒时间戳
+     */
+    public long ceil(long epochMillis) {
+        return floor(epochMillis) == epochMillis ? epochMillis : startOf(index(epochMillis) + 1);
+    }
+
+    /**
+     * @return 所在桶的下标，1970-01-01 所在的桶为 0
+     */
+    public long index(long epochMillis) {
+        if (grid != null) {
+            return grid.index(epochMillis);
+        }
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        long epochDay = Math.floorDiv(epochSecond + offsets.offsetSecondsAt(epochSecond),
+            CalendarMath.SECONDS_PER_DAY);
+        if (weeks) {
+            return Math.floorDiv(epochDay - weekAnchor, 7L * step);
+        }
+        switch (unit) {
+            case YEAR:
+                return Math.floorDiv(CalendarMath.packedYear(CalendarTable.packDate(epochDay)) - 1970L, step);
+            case MONTH:
+                long packed = CalendarTable.packDate(epochDay);
+                return Math.floorDiv((CalendarMath.packedYear(packed) - 1970L) * 12
+                    + CalendarMath.packedMonth(packed) - 1, step);
+            default:
+                return Math.floorDiv(epochDay, step);
+        }
+    }
+
+    /**
+     * @param index 桶的下标
+     * @return 桶的开始时间，毫秒时间戳
+     */
+    public long startOf(long index) {
+        if (grid != null) {
+            return grid.startOf(index);
+        }
+        long epochDay;
+        if (weeks) {
+            epochDay = index * 7 * step + weekAnchor;
+        } else {
+            switch (unit) {
+                case YEAR:
+                    epochDay = CalendarTable.toEpochDay(1970 + index * step, 1, 1);
+                    break;
+                case MONTH:
+                    long months = index * step;
+                    epochDay = CalendarTable.toEpochDay(1970 + Math.floorDiv(months, 12),
+                        (int) Math.floorMod(months, 12L) + 1, 1);
+                    break;
+                default:
+                    epochDay = index * step;
+            }
+        }
+        return offsets.toEpochSecond(epochDay * CalendarMath.SECONDS_PER_DAY, null) * 1000;
+    }
+
+    /**
+     * 批量计算 {@link #floor(long)}，{@code result} 可以与 {@code epochMillis} 是同一个数组
+     *
+     * @throws IllegalArgumentException {@code result} 的长度不够
+     */
+    public void floor(@NotNull long[] epochMillis, @NotNull long[] result) {
+        checkLength(epochMillis, result);
+        for (int i = 0; i < epochMillis.length; i++) {
+            result[i] = floor(epochMillis[i]);
+        }
+    }
+
+    /**
+     * 批量计算 {@link #index(long)}，{@code result} 可以与 {@code epochMillis} 是同一个数组
+     *
+     * @throws IllegalArgumentException {@code result} 的长度不够
+     */
+    public void index(@NotNull long[] epochMillis, @NotNull long[] result) {
+        checkLength(epochMillis, result);
+        for (int i = 0; i < epochMillis.length; i++) {
+            result[i] = index(epochMillis[i]);
+        }
+    }
+
+    private static void checkLength(long[] epochMillis, long[] result) {
+        Objects.requireNonNull(epochMillis, "epochMillis");
+        Objects.requireNonNull(result, "result");
+        if (result.length < epochMillis.length) {
+            throw new IllegalArgumentException("result.length < epochMillis.length");
+        }
+    }
+
+    /**
+     * 时、分、秒的桶。
+     * <p>以偏移量的变化点把时间轴分为若干段，每段内偏移量不变，桶按该段的本地时间对齐，段的起点也是桶的起点。
+     * 每段记录下标的基数，使下标在段之间连续，floor、index、startOf 在同一套边界上计算</p>
+     */
+    private static final class FixedGrid {
+
+        private final long stepMillis;
+        /**
+         * 段的起点，毫秒；第 0 段没有起点，segmentStarts[i] 是第 i + 1 段的起点
+         */
+        private final long[] segmentStarts;
+        /**
+         * 每段的偏移量，毫秒
+         */
+        private final long[] alignMillis;
+        /**
+         * 段内的下标为 {@code bases[i] + floorDiv(t + alignMillis[i], stepMillis)}
+         */
+        private final long[] bases;
+        /**
+         * 每段第一个桶的下标，第 0 段为 {@code Long.MIN_VALUE}
+         */
+        private final long[] firstIndexes;
+
+        FixedGrid(ZoneOffsets offsets, long stepMillis) {
+            this.stepMillis = stepMillis;
+            long[] transitions = offsets.transitions();
+            int count = transitions.length;
+            this.segmentStarts = new long[count];
+            this.alignMillis = new long[count + 1];
+            for (int i = 0; i <= count; i++) {
+                alignMillis[i] = offsets.offsetSecondsBefore(i) * 1000L;
+            }
+            for (int i = 0; i < count; i++) {
+                segmentStarts[i] = transitions[i] * 1000;
+            }
+
+            // 1970-01-01 所在的段的基数为 0，向两边推算，变化点之后的第一个桶紧接变化点之前的最后一个桶
+            this.bases = new long[count + 1];
+            int epoch = segmentOf(0);
+            for (int i = epoch; i < count; i++) {
+                bases[i + 1] = bases[i] + cell(segmentStarts[i] - 1, i) + 1 - cell(segmentStarts[i], i + 1);
+            }
+            for (int i = epoch - 1; i >= 0; i--) {
+                bases[i] = bases[i + 1] + cell(segmentStarts[i], i + 1) - 1 - cell(segmentStarts[i] - 1, i);
+            }
+            this.firstIndexes = new long[count + 1];
+            firstIndexes[0] = Long.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                firstIndexes[i + 1] = bases[i + 1] + cell(segmentStarts[i], i + 1);
+            }
+        }
+
+        long floor(long epochMillis) {
+            int segment = segmentOf(epochMillis);
+            long start = cell(epochMillis, segment) * stepMillis - alignMillis[segment];
+            return segment == 0 ? start : Math.max(start, segmentStarts[segment - 1]);
+        }
+
+        long index(long epochMillis) {
+            int segment = segmentOf(epochMillis);
+            return bases[segment] + cell(epochMillis, segment);
+        }
+
+        long startOf(long index) {
+            int segment = Arrays.binarySearch(firstIndexes, index);
+            segment = segment >= 0 ? segment : -segment - 2;
+            long start = (index - bases[segment]) * stepMillis - alignMillis[segment];
+            return segment == 0 ? start : Math.max(start, segmentStarts[segment - 1]);
+        }
+
+        private int segmentOf(long epochMillis) {
+            int index = Arrays.binarySearch(segmentStarts, epochMillis);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        private long cell(long epochMillis, int segment) {
+            return Math.floorDiv(epochMillis + alignMillis[segment], stepMillis);
+        }
+
+    }
+
+    @Override
+    public String toString() {
+        return "TimeBucketer{" +
+            "unit=" + (weeks ? "WEEK" : unit) +
+            ", step=" + step +
+            ", zone=" + zone +
+            '}';
+    }
+
+}
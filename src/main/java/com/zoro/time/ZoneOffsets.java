@@ -0,0 +1,183 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按时区缓存的偏移量表。
+ * <p>固定偏移的时区直接返回偏移量；其余时区预先计算 {@value #MIN_YEAR} ~ {@value #MAX_YEAR} 年间的所有规则变化点，
+ * 查询时二分查找。最后一个变化点之后不再有规则的时区（如 {@link Zoro#SHANG_HAI}）在窗口之后同样走快速路径，
+ * 其余超出窗口的时间交给 {@link ZoneRules}。</p>
+ * <p>本地时间转换为时刻时，夏令时间隙和重叠的处理与 {@link ZonedDateTime#ofLocal} 一致</p>
+ */
+final class ZoneOffsets {
+
+    static final int MIN_YEAR = 1900;
+    static final int MAX_YEAR = 2200;
+
+    private static final long WINDOW_START = CalendarMath.toEpochDay(MIN_YEAR, 1, 1) * CalendarMath.SECONDS_PER_DAY;
+    private static final long WINDOW_END = CalendarMath.toEpochDay(MAX_YEAR + 1, 1, 1) * CalendarMath.SECONDS_PER_DAY;
+    /**
+     * 偏移量最大为 18 小时，本地时间在窗口边界内缩一天即可保证结果落在窗口内
+     */
+    private static final long LOCAL_MARGIN = CalendarMath.SECONDS_PER_DAY;
+
+    private static final ConcurrentMap<ZoneId, ZoneOffsets> CACHE = new ConcurrentHashMap<>();
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final ZoneOffset fixed;
+    /**
+     * 窗口内规则变化点的 epoch 秒
+     */
+    private final long[] transitions;
+    /**
+     * offsets[i] 为 transitions[i] 之前的偏移量，最后一个元素为最后一个变化点之后的偏移量
+     */
+    private final ZoneOffset[] offsets;
+    /**
+     * 变化点附近的本地时间区间 [localStarts[i], localEnds[i]) 为间隙或重叠
+     */
+    private final long[] localStarts;
+    private final long[] localEnds;
+    /**
+     * 最后一个变化点之后是否不再有变化
+     */
+    private final boolean stable;
+
+    private ZoneOffsets(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            this.fixed = rules.getOffset(Instant.EPOCH);
+            this.transitions = new long[0];
+            this.offsets = new ZoneOffset[]{fixed};
+            this.localStarts = new long[0];
+            this.localEnds = new long[0];
+            this.stable = true;
+            return;
+        }
+        this.fixed = null;
+
+        long[] transitions = new long[64];
+        ZoneOffset[] offsets = new ZoneOffset[65];
+        int count = 0;
+        Instant cursor = Instant.ofEpochSecond(WINDOW_START);
+        offsets[0] = rules.getOffset(cursor);
+        ZoneOffsetTransition transition;
+        while ((transition = rules.nextTransition(cursor)) != null && transition.toEpochSecond() < WINDOW_END) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = transition.toEpochSecond();
+            offsets[++count] = transition.getOffsetAfter();
+            cursor = transition.getInstant();
+        }
+        this.transitions = Arrays.copyOf(transitions, count);
+        this.offsets = Arrays.copyOf(offsets, count + 1);
+        this.localStarts = new long[count];
+        this.localEnds = new long[count];
+        for (int i = 0; i < count; i++) {
+            int before = this.offsets[i].getTotalSeconds();
+            int after = this.offsets[i + 1].getTotalSeconds();
+            localStarts[i] = this.transitions[i] + Math.min(before, after);
+            localEnds[i] = this.transitions[i] + Math.max(before, after);
+        }
+        this.stable = rules.getTransitionRules().isEmpty();
+    }
+
+    static ZoneOffsets of(ZoneId zone) {
+        ZoneOffsets offsets = CACHE.get(zone);
+        if (offsets == null) {
+            offsets = CACHE.computeIfAbsent(zone, ZoneOffsets::new);
+        }
+        return offsets;
+    }
+
+    /**
+     * 以 epoch 秒和纳秒构建指定时区的 {@link ZonedDateTime}。
+     * <p>这里不查表：{@link ZonedDateTime} 的工厂方法总会通过 {@link java.time.zone.ZoneRules} 校验或查找偏移量，
+     * 先查表只会在同样的开销之上再增加一次查找，表只用于完全不需要创建 {@link ZonedDateTime} 的计算</p>
+     */
+    static ZonedDateTime toZonedDateTime(long epochSecond, int nano, ZoneId zone) {
+        return Instant.ofEpochSecond(epochSecond, nano).atZone(zone);
+    }
+
+    ZoneOffset offsetAt(long epochSecond) {
+        if (fixed != null) {
+            return fixed;
+        }
+        if (epochSecond < WINDOW_START || (epochSecond >= WINDOW_END && !stable)) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        }
+        int index = Arrays.binarySearch(transitions, epochSecond);
+        return offsets[index >= 0 ? index + 1 : -index - 1];
+    }
+
+    int offsetSecondsAt(long epochSecond) {
+        return offsetAt(epochSecond).getTotalSeconds();
+    }
+
+    /**
+     * @return 窗口内规则变化点的 epoch 秒，按时间排序，调用方不能修改
+     */
+    long[] transitions() {
+        return transitions;
+    }
+
+    /**
+     * @param index 变化点的下标，等于变化点的个数时表示最后一个变化点之后
+     * @return 该变化点之前的偏移量，秒
+     */
+    int offsetSecondsBefore(int index) {
+        return offsets[index].getTotalSeconds();
+    }
+
+    /**
+     * 将本地时间（以 UTC 表示的 epoch 秒）转换为时刻。
+     * <p>落在间隙中时按间隙前的偏移量计算，即顺延间隙的长度；落在重叠中时优先使用 {@code preferred}，
+     * 否则使用较早的偏移量。与 {@link ZonedDateTime#ofLocal} 一致</p>
+     *
+     * @param localEpochSecond 本地时间
+     * @param preferred        优先使用的偏移量，可以为 {@code null}
+     * @return epoch 秒
+     */
+    long toEpochSecond(long localEpochSecond, @Nullable ZoneOffset preferred) {
+        if (fixed != null) {
+            return localEpochSecond - fixed.getTotalSeconds();
+        }
+        if (localEpochSecond < WINDOW_START + LOCAL_MARGIN
+            || (localEpochSecond >= WINDOW_END - LOCAL_MARGIN && !stable)) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+            return ZonedDateTime.ofLocal(local, zone, preferred).toEpochSecond();
+        }
+        int index = Arrays.binarySearch(localStarts, localEpochSecond);
+        index = index >= 0 ? index : -index - 2;
+        if (index < 0) {
+            return localEpochSecond - offsets[0].getTotalSeconds();
+        }
+        ZoneOffset before = offsets[index];
+        ZoneOffset after = offsets[index + 1];
+        if (localEpochSecond >= localEnds[index]) {
+            return localEpochSecond - after.getTotalSeconds();
+        }
+        if (after.getTotalSeconds() > before.getTotalSeconds()) {
+            // 间隙
+            return localEpochSecond - before.getTotalSeconds();
+        }
+        // 重叠
+        return localEpochSecond - (after.equals(preferred) ? after : before).getTotalSeconds();
+    }
+
+}
@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.Duration;
@@ -13,10 +15,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
 import java.time.OffsetDateTime;
-import java.time.Period;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
@@ -24,8 +26,10 @@ import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalQueries;
 import java.time.temporal.WeekFields;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Objects;
 import java.util.TimeZone;
@@ -40,6 +44,10 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
     public static final String NORMAL_DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
     public static final String TIME_PATTERN = "HHmmss";
     public static final String NORMAL_TIME_PATTERN = "HH:mm:ss";
+    /**
+     * ISO-8601 格式，带毫秒和偏移量，如 {@code 2021-03-14T10:15:30.123+08:00}，UTC 写作 {@code Z}
+     */
+    public static final String ISO_DATETIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
 
     public static final ZoneId UTC = ZoneId.of("UTC");
     public static final ZoneId PST = ZoneId.of("America/Los_Angeles");
@@ -60,22 +68,56 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
 
     private static final CachedDateTimeFormatter CACHED_FORMATTER = new CachedDateTimeFormatter();
 
+    /**
+     * 为 {@code null} 时使用精确的系统时钟
+     */
+    private static volatile CachedClock cachedClock;
+
+    /**
+     * 按时刻比较，精确到纳秒，不考虑时区
+     */
+    public static final Comparator<Zoro> BY_INSTANT = new InstantComparator();
+    /**
+     * 按各自时区下的本地日期时间比较，精确到纳秒
+     */
+    public static final Comparator<Zoro> BY_LOCAL_DATE_TIME = new LocalDateTimeComparator();
+
     private ZonedDateTime date;
     private DayOfWeek firstDayOfWeek = DayOfWeek.MONDAY;
     private int minimalDaysInFirstWeek = 1;
+    /**
+     * {@link #hashCode()} 的缓存，{@link #date} 变化时重置为 0
+     */
+    private transient int hash;
 
     private Zoro() {
-        date = ZonedDateTime.now();
+        CachedClock clock = cachedClock;
+        date = clock == null ? ZonedDateTime.now() : clock.now();
     }
 
     private Zoro(@NotNull ZoneId zoneId) {
-        date = ZonedDateTime.now(zoneId);
+        CachedClock clock = cachedClock;
+        date = clock == null ? ZonedDateTime.now(zoneId) : clock.now(zoneId);
+    }
+
+    /**
+     * 当前时间，使用缓存时钟时读取最近一次刷新的结果
+     */
+    static ZonedDateTime currentDate(ZoneId zone) {
+        CachedClock clock = cachedClock;
+        return clock == null ? ZonedDateTime.now(zone) : clock.now(zone);
     }
 
     private Zoro(@NotNull ZonedDateTime date) {
         this.date = date;
     }
 
+    private Zoro update(ZonedDateTime date) {
+        this.date = date;
+        this.hash = 0;
+        return this;
+    }
+
     public static @NotNull Zoro now() {
         return new Zoro();
     }
@@ -84,20 +126,216 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
         return new Zoro(zone);
     }
 
+    /**
+     * 切换为缓存时钟：由一个后台线程按指定的粒度刷新当前时间，{@link #now()} 和 {@link #now(ZoneId)}
+     * 只读取最近一次刷新的结果，精度降低为指定的粒度。
+     * <p>默认使用精确的系统时钟，可通过 {@link #usePreciseClock()} 切换回来</p>
+     *
+     * @param granularity 刷新间隔，如 {@code Duration.ofMillis(1)}
+     */
+    public static synchronized void useCachedClock(@NotNull Duration granularity) {
+        Objects.requireNonNull(granularity, "granularity");
+        if (granularity.isNegative() || granularity.isZero()) {
+            throw new IllegalArgumentException("granularity <= 0");
+        }
+
+        CachedClock previous = cachedClock;
+        cachedClock = new CachedClock(granularity);
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    /**
+     * 切换回精确的系统时钟，并停止缓存时钟的后台线程
+     */
+    public static synchronized void usePreciseClock() {
+        CachedClock previous = cachedClock;
+        cachedClock = null;
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
     public static @NotNull Zoro yesterday() {
         return Zoro.now().addDays(-1);
     }
 
     public static @NotNull Zoro parse(@NotNull CharSequence text, @NotNull String pattern) {
+        if (!ZoroListeners.ENABLED) {
+            return parseText(text, pattern);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Zoro zoro = parseText(text, pattern);
+            success = true;
+            return zoro;
+        } finally {
+            ZoroListeners.LISTENER.onParse(pattern, success, System.nanoTime() - start);
+        }
+    }
+
+    private static Zoro parseText(CharSequence text, String pattern) {
+        ZonedDateTime date = FastParser.parse(text, pattern);
+        if (date != null) {
+            return new Zoro(date);
+        }
         return CACHED_FORMATTER.parse(text, pattern, Zoro::from);
     }
 
+    /**
+     * 自动识别格式并解析，按长度和分隔符的位置识别以下格式：
+     * <ul>
+     *     <li>{@link #PURE_DATE_PATTERN}、{@link #PURE_DATETIME_PATTERN}</li>
+     *     <li>{@link #NORMAL_DATE_PATTERN}、{@link #NORMAL_DATETIME_PATTERN}、{@link #NORMAL_TIME_PATTERN}</li>
+     *     <li>带偏移量的 ISO-8601，如 {@code 2021-03-14T10:15:30+08:00}、{@code 2021-03-14T10:15:30.123Z}</li>
+     *     <li>10 位数字视为秒级时间戳，13 位数字视为毫秒时间戳，11、12 位数字无法确定单位，不予识别</li>
+     * </ul>
+     * <p>格式固定的数据源可以使用 {@link ZoroParser}，省去每次的识别</p>
+     *
+     * @throws DateTimeParseException 无法识别格式或解析失败
+     */
+    public static @NotNull Zoro parseAuto(@NotNull CharSequence text) {
+        Objects.requireNonNull(text, "text");
+
+        TextFormat format = TextFormat.classify(text);
+        if (format == null) {
+            throw TextFormat.unrecognized(text);
+        }
+        return format.parse(text);
+    }
+
+    /**
+     * 解析失败时返回 {@code null} 而不是抛出异常
+     *
+     * @see #tryParse(CharSequence, String, ParsePosition)
+     */
+    public static @Nullable Zoro tryParse(@Nullable CharSequence text, @NotNull String pattern) {
+        return tryParse(text, pattern, null);
+    }
+
+    /**
+     * 解析整个文本，失败时返回 {@code null} 而不是抛出异常，适合处理大量可能有误的输入。
+     * <p>调用时会重置 {@code position}：成功时其 index 为文本长度；失败时 errorIndex 为出错的位置，
+     * 字段值无效（如 13 月）时为 0。同一个 {@code position} 可以反复使用</p>
+     *
+     * @param text     文本
+     * @param pattern  模式
+     * @param position 用于返回出错的位置，可以为 {@code null}
+     * @return 解析结果，失败时为 {@code null}
+     */
+    public static @Nullable Zoro tryParse(@Nullable CharSequence text, @NotNull String pattern,
+                                          @Nullable ParsePosition position) {
+        Objects.requireNonNull(pattern, "pattern");
+        if (!ZoroListeners.ENABLED) {
+            return tryParseText(text, pattern, position);
+        }
+        long start = System.nanoTime();
+        Zoro zoro = tryParseText(text, pattern, position);
+        ZoroListeners.LISTENER.onParse(pattern, zoro != null, System.nanoTime() - start);
+        return zoro;
+    }
+
+    private static Zoro tryParseText(CharSequence text, String pattern, ParsePosition position) {
+        if (position != null) {
+            position.setIndex(0);
+            position.setErrorIndex(-1);
+        }
+        if (text == null) {
+            if (position != null) {
+                position.setErrorIndex(0);
+            }
+            return null;
+        }
+
+        BuiltinPattern builtin = BuiltinPattern.of(pattern);
+        if (builtin != null) {
+            long local = FastParser.parseLocal(text, builtin);
+            if (local == FastParser.INVALID) {
+                // 形状正确但字段越界，DateTimeFormatter 同样会失败，直接返回而不创建异常
+                if (position != null) {
+                    position.setErrorIndex(0);
+                }
+                return null;
+            }
+            if (local != FastParser.UNSUPPORTED) {
+                if (position != null) {
+                    position.setIndex(text.length());
+                }
+                return new Zoro(FastParser.toZonedDateTime(local, builtin));
+            }
+        }
+        return CACHED_FORMATTER.tryParse(text, pattern, position == null ? new ParsePosition(0) : position,
+            Zoro::from);
+    }
+
+    /**
+     * 解析 ASCII 字节
+     *
+     * @see #parse(ByteBuffer, int, int, String)
+     */
+    public static @NotNull Zoro parse(@NotNull byte[] bytes, int offset, int length, @NotNull String pattern) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        return parse(ByteBuffer.wrap(bytes), offset, length, pattern);
+    }
+
+    /**
+     * 直接解析 ASCII 字节，结果与 {@link #parse(CharSequence, String)} 一致。
+     * <p>内置模式和 {@link #ISO_DATETIME_PATTERN} 的规范输入直接扫描字节，除结果外不创建对象；
+     * 其余情况解码为字符串后交给 {@code DateTimeFormatter}</p>
+     *
+     * @param buffer  字节，按绝对位置读取，不改变其 position
+     * @param offset  起始位置
+     * @param length  长度
+     * @param pattern 模式
+     * @throws IndexOutOfBoundsException 超出 {@code buffer} 的范围
+     */
+    public static @NotNull Zoro parse(@NotNull ByteBuffer buffer, int offset, int length, @NotNull String pattern) {
+        Objects.requireNonNull(buffer, "buffer");
+        Objects.requireNonNull(pattern, "pattern");
+        if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length
+                + ", limit: " + buffer.limit());
+        }
+
+        if (!ZoroListeners.ENABLED) {
+            return parseBytes(buffer, offset, length, pattern);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Zoro zoro = parseBytes(buffer, offset, length, pattern);
+            success = true;
+            return zoro;
+        } finally {
+            ZoroListeners.LISTENER.onParse(pattern, success, System.nanoTime() - start);
+        }
+    }
+
+    private static Zoro parseBytes(ByteBuffer buffer, int offset, int length, String pattern) {
+        ZonedDateTime date = FastParser.parse(buffer, offset, length, pattern);
+        if (date != null) {
+            return new Zoro(date);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (buffer.get(offset + i) & 0xFF);
+        }
+        return CACHED_FORMATTER.parse(new String(chars), pattern, Zoro::from);
+    }
+
     public static @NotNull Zoro create(long timestamp) {
-        return create(new Date(timestamp));
+        return create(timestamp, ZoneId.systemDefault());
     }
 
     public static @NotNull Zoro create(long timestamp, @NotNull ZoneId zone) {
-        return create(new Date(timestamp), zone);
+        Objects.requireNonNull(zone, "zone");
+
+        long epochSecond = Math.floorDiv(timestamp, 1000);
+        int nano = (int) Math.floorMod(timestamp, 1000L) * 1000_000;
+        return new Zoro(ZoneOffsets.toZonedDateTime(epochSecond, nano, zone));
     }
 
     public static @NotNull Zoro create(@NotNull Date date) {
@@ -176,8 +414,21 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
         return new Zoro(o.date).withZoneId(zone);
     }
 
+    static @NotNull Zoro wrap(@NotNull ZonedDateTime date) {
+        return new Zoro(date);
+    }
+
     public static @NotNull Range range(@NotNull Zoro start, @NotNull Zoro end, DateUnit unit) {
-        return new Range(Zoro.create(start), Zoro.create(end), unit);
+        return new Range(start.date, end.date, unit);
+    }
+
+    /**
+     * 转换为不可变的 {@link ImmutableZoro}，包括一周的第一天等设置
+     *
+     * @return 新的 {@link ImmutableZoro} 实例
+     */
+    public @NotNull ImmutableZoro toImmutable() {
+        return new ImmutableZoro(date, firstDayOfWeek, minimalDaysInFirstWeek);
     }
 
     public ZoneId zone() {
@@ -206,11 +457,11 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
     }
 
     public boolean isBefore(Zoro zoro) {
-        return this.date.isBefore(zoro.date);
+        return compareInstant(this.date, zoro.date) < 0;
     }
 
     public boolean isAfter(Zoro zoro) {
-        return this.date.isAfter(zoro.date);
+        return compareInstant(this.date, zoro.date) > 0;
     }
 
     /**
@@ -323,43 +574,35 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
     }
 
     public Zoro addYears(long years) {
-        this.date = date.plusYears(years);
-        return this;
+        return update(date.plusYears(years));
     }
 
     public Zoro addMonths(long months) {
-        this.date = date.plusMonths(months);
-        return this;
+        return update(date.plusMonths(months));
     }
 
     public Zoro addWeeks(long weeks) {
-        this.date = this.date.plusWeeks(weeks);
-        return this;
+        return update(this.date.plusWeeks(weeks));
     }
 
     public Zoro addDays(long days) {
-        this.date = date.plusDays(days);
-        return this;
+        return update(date.plusDays(days));
     }
 
     public Zoro addHours(long hours) {
-        this.date = date.plusHours(hours);
-        return this;
+        return update(date.plusHours(hours));
     }
 
     public Zoro addMinutes(long minutes) {
-        this.date = date.plusMinutes(minutes);
-        return this;
+        return update(date.plusMinutes(minutes));
     }
 
     public Zoro addSeconds(long seconds) {
-        this.date = date.plusSeconds(seconds);
-        return this;
+        return update(date.plusSeconds(seconds));
     }
 
     public Zoro addNanos(long nanos) {
-        this.date = date.plusNanos(nanos);
-        return this;
+        return update(date.plusNanos(nanos));
     }
 
     /**
@@ -371,63 +614,52 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
      * @see ZoneId
      */
     public Zoro withZoneId(@NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
         if (zone().equals(zone)) {
             return this;
         }
 
-        this.date = this.date.withZoneSameInstant(zone);
-
-        return this;
+        return update(ZoneOffsets.toZonedDateTime(this.date.toEpochSecond(), this.date.getNano(), zone));
     }
 
     public Zoro withYear(int year) {
-        this.date = date.withYear(year);
-        return this;
+        return update(date.withYear(year));
     }
 
     public Zoro withMonth(int month) {
-        this.date = date.withMonth(month);
-        return this;
+        return update(date.withMonth(month));
     }
 
     public Zoro withDayOfMonth(int dayOfMonth) {
-        this.date = date.withDayOfMonth(dayOfMonth);
-        return this;
+        return update(date.withDayOfMonth(dayOfMonth));
     }
 
     public Zoro withDayOfYear(int dayOfYear) {
-        this.date = date.withDayOfYear(dayOfYear);
-        return this;
+        return update(date.withDayOfYear(dayOfYear));
     }
 
     public Zoro withHour(int hour) {
-        this.date = date.withHour(hour);
-        return this;
+        return update(date.withHour(hour));
     }
 
     public Zoro withMinute(int minute) {
-        this.date = date.withMinute(minute);
-        return this;
+        return update(date.withMinute(minute));
     }
 
     public Zoro withSecond(int second) {
-        this.date = date.withSecond(second);
-        return this;
+        return update(date.withSecond(second));
     }
 
     public Zoro withLastDayOfMonth() {
-        this.date = date.with(TemporalAdjusters.lastDayOfMonth());
-        return this;
+        return update(date.with(TemporalAdjusters.lastDayOfMonth()));
     }
 
     public Zoro withFirstInMonth(DayOfWeek week) {
-        this.date = date.with(TemporalAdjusters.firstInMonth(week));
-        return this;
+        return update(date.with(TemporalAdjusters.firstInMonth(week)));
     }
 
     public Zoro with(@NotNull TemporalAdjuster adjuster) {
-        this.date = this.date.with(adjuster);
-        return this;
+        return update(this.date.with(adjuster));
     }
 
     /**
@@ -436,7 +668,7 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
      * @return 当前月的天数
      */
     public int monthDays() {
-        return date.toLocalDate().lengthOfMonth();
+        return CalendarMath.monthLength(date.getYear(), date.getMonthValue());
     }
 
     /**
@@ -445,7 +677,7 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
      * @return 当前年的天数
      */
     public int yearDays() {
-        return date.toLocalDate().lengthOfYear();
+        return CalendarMath.isLeapYear(date.getYear()) ? 366 : 365;
     }
 
     /**
@@ -454,119 +686,224 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
      * @return {@code true} 是闰年，{@code false} 不是闰年
      */
     public boolean isLeapYear() {
-        return date.toLocalDate().isLeapYear();
+        return CalendarMath.isLeapYear(date.getYear());
     }
 
     public long timestamp() {
-        return date.toInstant().toEpochMilli();
+        return date.toEpochSecond() * 1000 + date.getNano() / 1000_000;
     }
 
     public long diffOfYears(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.YEARS.between(this.date, end.date);
+        return diff(ChronoUnit.YEARS, date, end.date);
     }
 
     public long diffOfMonths(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.MONTHS.between(this.date, end.date);
+        return diff(ChronoUnit.MONTHS, date, end.date);
     }
 
     public long diffOfDays(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.DAYS.between(this.date, end.date);
+        return diff(ChronoUnit.DAYS, date, end.date);
     }
 
     public long diffOfHours(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.HOURS.between(this.date, end.date);
+        return diff(ChronoUnit.HOURS, date, end.date);
     }
 
     public long diffOfMinutes(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.MINUTES.between(this.date, end.date);
+        return diff(ChronoUnit.MINUTES, date, end.date);
     }
 
     public long diffOfSeconds(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.SECONDS.between(this.date, end.date);
+        return diff(ChronoUnit.SECONDS, date, end.date);
     }
 
     public long diffOfWeeks(@NotNull Zoro end) {
         Objects.requireNonNull(end, "end");
 
-        return ChronoUnit.WEEKS.between(this.date, end.date);
+        return diff(ChronoUnit.WEEKS, date, end.date);
     }
 
-    private Between between(@NotNull Zoro end) {
-        Objects.requireNonNull(end, "end");
+    /**
+     * 与 {@link ChronoUnit#between} 结果一致，见 {@link DiffMath}
+     */
+    static long diff(ChronoUnit unit, ZonedDateTime start, ZonedDateTime end) {
+        return DiffMath.between(unit, ZoneOffsets.of(start.getZone()), start.toEpochSecond(), start.getNano(),
+            start.getOffset().getTotalSeconds(), end.toEpochSecond(), end.getNano());
+    }
 
-        Duration duration = Duration.between(this.toLocalTime(), end.toLocalTime());
-        Period period = Period.between(this.toLocalDate(), end.toLocalDate());
-        return new Between(period, duration);
+    /**
+     * 与当前时间相比的易读描述，如 {@code "3 minutes ago"}
+     *
+     * @see #diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public @NotNull String diffForHumans() {
+        return diffForHumans(null, DiffLocale.ENGLISH);
     }
 
-    private String diffForHumans(@Nullable Zoro end, boolean chinese) {
-        boolean isNow = false;
-        if (end == null) {
-            end = Zoro.now(this.zone());
-            isNow = true;
-        }
+    /**
+     * 与另一个时间相比的易读描述，如 {@code "2 days before"}
+     *
+     * @param other 参照时间，为 {@code null} 时与当前时间相比
+     * @see #diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public @NotNull String diffForHumans(@Nullable Zoro other) {
+        return diffForHumans(other, DiffLocale.ENGLISH);
+    }
 
-        String unit;
-        long count;
-        Between between = between(end);
-        if (between.getYears() != 0) {
-            count = between.getYears();
-            unit = chinese ? "年" : " year";
-        } else if (between.getMonths() != 0) {
-            count = between.getMonths();
-            unit = chinese ? "月" : " month";
-        } else if (between.getDays() != 0) {
-            count = between.getDays();
-            unit = chinese ? "天" : " day";
-        } else if (between.getHours() != 0) {
-            count = between.getHours();
-            unit = chinese ? "时" : " hour";
-        } else if (between.getMinutes() != 0) {
-            count = between.getMinutes();
-            unit = chinese ? "分" : " minute";
+    /**
+     * @param other  参照时间，为 {@code null} 时与当前时间相比
+     * @param locale 语言表
+     * @see #diffForHumansTo(Zoro, DiffLocale, StringBuilder)
+     */
+    public @NotNull String diffForHumans(@Nullable Zoro other, @NotNull DiffLocale locale) {
+        StringBuilder builder = new StringBuilder(24);
+        diffForHumansTo(other, locale, builder);
+        return builder.toString();
+    }
+
+    /**
+     * 将与参照时间相比的易读描述写入给定的 {@link StringBuilder}，只取最大的非零单位，如 {@code "3 minutes ago"}、
+     * {@code "1 year after"}，相等时视为 1 秒前。
+     * <p>年、月、天按当前时区的本地时间计算，与 {@link #diffOfMonths(Zoro)}、{@link #diffOfDays(Zoro)} 一致；
+     * 时、分、秒按实际经过的时间计算。全程只用 epoch 值做算术，除写入外不创建对象</p>
+     *
+     * @param other   参照时间，为 {@code null} 时与当前时间相比
+     * @param locale  语言表
+     * @param builder 写入的目标
+     */
+    public void diffForHumansTo(@Nullable Zoro other, @NotNull DiffLocale locale, @NotNull StringBuilder builder) {
+        diffForHumansTo(date, other == null ? null : other.date, locale, builder);
+    }
+
+    static void diffForHumansTo(ZonedDateTime date, @Nullable ZonedDateTime other, DiffLocale locale,
+                                StringBuilder builder) {
+        Objects.requireNonNull(locale, "locale");
+        Objects.requireNonNull(builder, "builder");
+
+        long referenceSecond;
+        int referenceNano;
+        if (other != null) {
+            referenceSecond = other.toEpochSecond();
+            referenceNano = other.getNano();
         } else {
-            count = between.getSeconds();
-            unit = chinese ? "秒" : " second";
+            CachedClock clock = cachedClock;
+            long millis = clock == null ? System.currentTimeMillis() : clock.millis();
+            referenceSecond = Math.floorDiv(millis, 1000);
+            referenceNano = (int) Math.floorMod(millis, 1000) * 1000_000;
         }
-        if (count == 0) {
-            count = 1;
-        }
-        if (count > 1 || count < -1) {
-            unit += "s";
-        }
-        if (isNow) {
-            // start: now; end: this
-            if (count > 0) {
-                unit += (chinese ? "从现在" : " from now");
-            } else {
-                unit += (chinese ? "前" : " ago");
-                count = -count;
-            }
+        long second = date.toEpochSecond();
+        int nano = date.getNano();
+        ZoneOffsets offsets = ZoneOffsets.of(date.getZone());
+        int offset = date.getOffset().getTotalSeconds();
+
+        // 与 diffOfMonths(other) 一样以当前对象为起点，月末日期的截断方向才一致
+        DateUnit unit;
+        long count;
+        if ((count = DiffMath.between(ChronoUnit.YEARS, offsets, second, nano, offset, referenceSecond,
+            referenceNano)) != 0) {
+            unit = DateUnit.YEAR;
+        } else if ((count = DiffMath.between(ChronoUnit.MONTHS, offsets, second, nano, offset, referenceSecond,
+            referenceNano)) != 0) {
+            unit = DateUnit.MONTH;
+        } else if ((count = DiffMath.between(ChronoUnit.DAYS, offsets, second, nano, offset, referenceSecond,
+            referenceNano)) != 0) {
+            unit = DateUnit.DAY;
         } else {
-            if (count > 0) {
-                unit += (chinese ? "后" : " after");
+            long seconds = DiffMath.secondsBetween(second, nano, referenceSecond, referenceNano);
+            if ((count = seconds / 3600) != 0) {
+                unit = DateUnit.HOUR;
+            } else if ((count = seconds / 60) != 0) {
+                unit = DateUnit.MINUTE;
             } else {
-                unit += (chinese ? "前" : " before");
-                count = -count;
+                unit = DateUnit.SECOND;
+                count = seconds == 0 ? 1 : seconds;
             }
         }
-        return count + unit;
+        boolean future = second > referenceSecond || (second == referenceSecond && nano > referenceNano);
+        locale.appendTo(builder, unit, Math.abs(count), other == null, future);
     }
 
     public String format(String pattern) {
-        return CACHED_FORMATTER.format(date, pattern);
+        return format(date, pattern);
+    }
+
+    /**
+     * 按照指定的模式格式化，并写入给定的 {@link Appendable}，如 {@link StringBuilder}。
+     * <p>模式只包含定长数字字段和字面量时，不会产生额外的对象</p>
+     *
+     * @param pattern    模式
+     * @param appendable 写入的目标
+     * @throws DateTimeException 格式化或写入时出错
+     */
+    public void formatTo(@NotNull String pattern, @NotNull Appendable appendable) {
+        formatTo(date, pattern, appendable);
+    }
+
+    /**
+     * 按照指定的模式格式化，以 ASCII 写入 {@code buffer} 的当前位置并前移。
+     * <p>模式只包含定长数字字段、偏移量（{@code XXX}）和 ASCII 字面量时，不会产生任何对象；
+     * 其余模式交给 {@code DateTimeFormatter}，结果按 UTF-8 编码</p>
+     *
+     * @param pattern 模式
+     * @param buffer  写入的目标
+     * @throws java.nio.BufferOverflowException 剩余空间不足，此时 {@code buffer} 的位置不变
+     */
+    public void formatTo(@NotNull String pattern, @NotNull ByteBuffer buffer) {
+        formatTo(date, pattern, buffer);
+    }
+
+    static String format(ZonedDateTime date, String pattern) {
+        if (!ZoroListeners.ENABLED) {
+            return CACHED_FORMATTER.format(date, pattern);
+        }
+        long start = System.nanoTime();
+        try {
+            return CACHED_FORMATTER.format(date, pattern);
+        } finally {
+            ZoroListeners.LISTENER.onFormat(pattern, System.nanoTime() - start);
+        }
+    }
+
+    static void formatTo(ZonedDateTime date, String pattern, Appendable appendable) {
+        Objects.requireNonNull(appendable, "appendable");
+
+        if (!ZoroListeners.ENABLED) {
+            CACHED_FORMATTER.formatTo(date, pattern, appendable);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CACHED_FORMATTER.formatTo(date, pattern, appendable);
+        } finally {
+            ZoroListeners.LISTENER.onFormat(pattern, System.nanoTime() - start);
+        }
+    }
+
+    static void formatTo(ZonedDateTime date, String pattern, ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        if (!ZoroListeners.ENABLED) {
+            CACHED_FORMATTER.formatTo(date, pattern, buffer);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CACHED_FORMATTER.formatTo(date, pattern, buffer);
+        } finally {
+            ZoroListeners.LISTENER.onFormat(pattern, System.nanoTime() - start);
+        }
     }
 
     public Date toDate() {
@@ -642,12 +979,27 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
     public int compareTo(@NotNull Zoro o, boolean containsNano) {
         Objects.requireNonNull(o);
 
-        long diffOfTimestamp = this.timestamp() - o.timestamp();
-        if (diffOfTimestamp != 0) {
-            return diffOfTimestamp > 0 ? 1 : -1;
+        long epochSecond = this.date.toEpochSecond();
+        long otherEpochSecond = o.date.toEpochSecond();
+        if (epochSecond != otherEpochSecond) {
+            return epochSecond > otherEpochSecond ? 1 : -1;
+        }
+        int nano = this.date.getNano();
+        int otherNano = o.date.getNano();
+        int diffOfMillis = nano / 1000_000 - otherNano / 1000_000;
+        if (diffOfMillis != 0) {
+            return diffOfMillis > 0 ? 1 : -1;
         }
 
-        return containsNano ? this.nano() - o.nano() : 0;
+        return containsNano ? nano - otherNano : 0;
+    }
+
+    private static int compareInstant(ZonedDateTime date, ZonedDateTime other) {
+        int cmp = Long.compare(date.toEpochSecond(), other.toEpochSecond());
+        if (cmp == 0) {
+            cmp = date.getNano() - other.getNano();
+        }
+        return cmp;
     }
 
     @Override
@@ -662,6 +1014,9 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
 
         Zoro other = (Zoro) o;
 
+        int h = this.hash;
+        int otherHash = other.hash;
+        if (h != 0 && otherHash != 0 && h != otherHash) return false;
         if (!Objects.equals(date, other.date)) return false;
         return this.firstDayOfWeek().equals(other.firstDayOfWeek())
             && this.minimalDaysInFirstWeek() == other.minimalDaysInFirstWeek();
@@ -669,7 +1024,12 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(date);
+        int h = hash;
+        if (h == 0) {
+            h = date.hashCode();
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -687,19 +1047,51 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
             OffsetDateTime offsetDateTime = (OffsetDateTime) temporal;
             return new Zoro(offsetDateTime.toZonedDateTime());
         }
-        LocalDate localDate;
-        LocalTime localTime;
-        try {
-            localDate = LocalDate.from(temporal);
-        } catch (DateTimeException e) {
+        ZoneId zone = temporal.query(TemporalQueries.zone());
+        if (zone == null) {
+            zone = ZoneId.systemDefault();
+        } else if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+            // 文本中有时区或偏移量，且日期和时间都完整，按解析出的时刻构建，同时有偏移量时可以区分夏令时重叠中的两个时刻
+            return new Zoro(ZonedDateTime.from(temporal));
+        }
+        // 只有日期或只有时间的模式，缺少的部分取当前时间
+        LocalDate localDate = temporal.query(TemporalQueries.localDate());
+        if (localDate == null) {
             localDate = LocalDate.now();
         }
-        try {
-            localTime = LocalTime.from(temporal);
-        } catch (DateTimeException e) {
+        LocalTime localTime = temporal.query(TemporalQueries.localTime());
+        if (localTime == null) {
             localTime = LocalTime.now();
         }
-        return new Zoro(ZonedDateTime.of(localDate, localTime, ZoneId.systemDefault()));
+        return new Zoro(ZonedDateTime.of(localDate, localTime, zone));
+    }
+
+    private static final class InstantComparator implements Comparator<Zoro>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int compare(Zoro o1, Zoro o2) {
+            return compareInstant(o1.date, o2.date);
+        }
+
+        private Object readResolve() {
+            return BY_INSTANT;
+        }
+    }
+
+    private static final class LocalDateTimeComparator implements Comparator<Zoro>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int compare(Zoro o1, Zoro o2) {
+            return o1.date.toLocalDateTime().compareTo(o2.date.toLocalDateTime());
+        }
+
+        private Object readResolve() {
+            return BY_LOCAL_DATE_TIME;
+        }
     }
 
     public static String getZodiacSign(int month, int day) {
@@ -725,4 +1117,27 @@ public final class Zoro implements Serializable, Comparable<Zoro>, Cloneable {
         return CACHED_FORMATTER.getFormatter(pattern);
     }
 
+    /**
+     * 设置模式缓存的最大容量（不包括内置模式），超出时淘汰最近未被访问的模式
+     *
+     * @param maximumSize 最大容量，为 0 时不缓存自定义模式
+     */
+    public static void formatterCacheMaximumSize(int maximumSize) {
+        CachedDateTimeFormatter.maximumSize(maximumSize);
+    }
+
+    public static @NotNull FormatterCacheStats formatterCacheStats() {
+        return CachedDateTimeFormatter.stats();
+    }
+
+    /**
+     * 启动时加载的监听器，未配置时为不做任何事的默认实现
+     *
+     * @return 监听器
+     * @see ZoroListener
+     */
+    public static @NotNull ZoroListener listener() {
+        return ZoroListeners.LISTENER;
+    }
+
 }
@@ -0,0 +1,216 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 按列批量转换时间戳。
+ * <p>适用于分析场景：将一组毫秒时间戳一次性拆分为年、月、日等整数列，循环中只做整数运算，不创建对象。
+ * 时区偏移量来自按时区缓存的规则变化点表；数组较大时使用 fork-join 并行处理</p>
+ */
+public final class ZoroColumns {
+
+    /**
+     * 超过该长度时拆分为多个任务并行处理
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private ZoroColumns() {
+    }
+
+    /**
+     * 将毫秒时间戳拆分为指定时区下的年、月、日、时、星期和季度。
+     * <p>不需要的列可以传入 {@code null}；传入的列长度不能小于 {@code epochMillis} 的长度</p>
+     *
+     * @param epochMillis 毫秒时间戳
+     * @param zone        时区
+     * @param year        年
+     * @param month       月，1~12
+     * @param day         当月的第几天，1~31
+     * @param hour        时，0~23
+     * @param dayOfWeek   星期，1（周一）~ 7（周日）
+     * @param quarter     季度，1~4
+     */
+    public static void decompose(@NotNull long[] epochMillis, @NotNull ZoneId zone, @Nullable int[] year,
+                                 @Nullable int[] month, @Nullable int[] day, @Nullable int[] hour,
+                                 @Nullable int[] dayOfWeek, @Nullable int[] quarter) {
+        Objects.requireNonNull(epochMillis, "epochMillis");
+        Objects.requireNonNull(zone, "zone");
+        int length = epochMillis.length;
+        checkLength(year, length, "year");
+        checkLength(month, length, "month");
+        checkLength(day, length, "day");
+        checkLength(hour, length, "hour");
+        checkLength(dayOfWeek, length, "dayOfWeek");
+        checkLength(quarter, length, "quarter");
+
+        DecomposeTask task = new DecomposeTask(epochMillis, ZoneOffsets.of(zone), year, month, day, hour, dayOfWeek,
+            quarter, 0, length);
+        if (length > PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+    }
+
+    /**
+     * 逐个计算 {@code startMillis[i]} 到 {@code endMillis[i]} 之间的完整单位数，结果与
+     * {@code unit.between(start.atZone(zone), end.atZone(zone))} 一致，即与 {@link Zoro#diffOfDays(Zoro)} 等方法相同。
+     * <p>日期单位按 {@code zone} 下的本地时间计算，时间单位按实际经过的时间计算</p>
+     *
+     * @param startMillis 开始时刻的毫秒时间戳
+     * @param endMillis   结束时刻的毫秒时间戳，长度不能小于 {@code startMillis}
+     * @param zone        时区
+     * @param unit        {@link ChronoUnit#SECONDS} ~ {@link ChronoUnit#YEARS}，不包括更精细或更粗的单位
+     * @param result      结果，长度不能小于 {@code startMillis}
+     * @throws IllegalArgumentException 不支持的单位或者数组长度不够
+     */
+    public static void diff(@NotNull long[] startMillis, @NotNull long[] endMillis, @NotNull ZoneId zone,
+                            @NotNull ChronoUnit unit, @NotNull long[] result) {
+        Objects.requireNonNull(startMillis, "startMillis");
+        Objects.requireNonNull(endMillis, "endMillis");
+        Objects.requireNonNull(zone, "zone");
+        Objects.requireNonNull(unit, "unit");
+        Objects.requireNonNull(result, "result");
+        if (!DiffMath.isSupported(unit)) {
+            throw new IllegalArgumentException("unsupported unit: " + unit);
+        }
+        int length = startMillis.length;
+        if (endMillis.length < length) {
+            throw new IllegalArgumentException("endMillis.length < startMillis.length");
+        }
+        if (result.length < length) {
+            throw new IllegalArgumentException("result.length < startMillis.length");
+        }
+
+        DiffTask task = new DiffTask(startMillis, endMillis, ZoneOffsets.of(zone), unit, result, 0, length);
+        if (length > PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+    }
+
+    private static void checkLength(int[] column, int length, String name) {
+        if (column != null && column.length < length) {
+            throw new IllegalArgumentException(name + ".length < epochMillis.length");
+        }
+    }
+
+    private static final class DecomposeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] epochMillis;
+        private final transient ZoneOffsets offsets;
+        private final int[] year;
+        private final int[] month;
+        private final int[] day;
+        private final int[] hour;
+        private final int[] dayOfWeek;
+        private final int[] quarter;
+        private final int from;
+        private final int to;
+
+        DecomposeTask(long[] epochMillis, ZoneOffsets offsets, int[] year, int[] month, int[] day, int[] hour,
+                      int[] dayOfWeek, int[] quarter, int from, int to) {
+            this.epochMillis = epochMillis;
+            this.offsets = offsets;
+            this.year = year;
+            this.month = month;
+            this.day = day;
+            this.hour = hour;
+            this.dayOfWeek = dayOfWeek;
+            this.quarter = quarter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                    new DecomposeTask(epochMillis, offsets, year, month, day, hour, dayOfWeek, quarter, from, mid),
+                    new DecomposeTask(epochMillis, offsets, year, month, day, hour, dayOfWeek, quarter, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                long epochSecond = Math.floorDiv(epochMillis[i], 1000);
+                long localSecond = epochSecond + offsets.offsetSecondsAt(epochSecond);
+                long epochDay = Math.floorDiv(localSecond, CalendarMath.SECONDS_PER_DAY);
+                if (year != null || month != null || day != null || quarter != null) {
+                    long packed = CalendarTable.packDate(epochDay);
+                    int m = CalendarMath.packedMonth(packed);
+                    if (year != null) {
+                        year[i] = CalendarMath.packedYear(packed);
+                    }
+                    if (month != null) {
+                        month[i] = m;
+                    }
+                    if (day != null) {
+                        day[i] = CalendarMath.packedDay(packed);
+                    }
+                    if (quarter != null) {
+                        quarter[i] = (m - 1) / 3 + 1;
+                    }
+                }
+                if (hour != null) {
+                    hour[i] = (int) (localSecond - epochDay * CalendarMath.SECONDS_PER_DAY) / 3600;
+                }
+                if (dayOfWeek != null) {
+                    dayOfWeek[i] = CalendarMath.dayOfWeek(epochDay);
+                }
+            }
+        }
+    }
+
+    private static final class DiffTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] startMillis;
+        private final long[] endMillis;
+        private final transient ZoneOffsets offsets;
+        private final ChronoUnit unit;
+        private final long[] result;
+        private final int from;
+        private final int to;
+
+        DiffTask(long[] startMillis, long[] endMillis, ZoneOffsets offsets, ChronoUnit unit, long[] result,
+                 int from, int to) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.offsets = offsets;
+            this.unit = unit;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new DiffTask(startMillis, endMillis, offsets, unit, result, from, mid),
+                    new DiffTask(startMillis, endMillis, offsets, unit, result, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                long startSecond = Math.floorDiv(startMillis[i], 1000);
+                int startNano = (int) Math.floorMod(startMillis[i], 1000) * 1000_000;
+                long endSecond = Math.floorDiv(endMillis[i], 1000);
+                int endNano = (int) Math.floorMod(endMillis[i], 1000) * 1000_000;
+                result[i] = DiffMath.between(unit, offsets, startSecond, startNano,
+                    offsets.offsetSecondsAt(startSecond), endSecond, endNano);
+            }
+        }
+    }
+
+}
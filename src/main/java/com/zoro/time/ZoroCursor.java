@@ -0,0 +1,343 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.DateTimeException;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.util.Objects;
+
+/**
+ * 可重复使用的可变游标，用于在循环中逐步移动时间。
+ * <p>年、月、日、时、分、秒、纳秒和偏移量都保存为基本类型字段，加减、修改和截断都在原地完成，不创建任何对象；
+ * 只有调用 {@link #toZoro()} 或 {@link #toZonedDateTime()} 时才创建对象，{@link #epochMillis()} 同样不创建对象。</p>
+ * <p>计算结果与 {@link ZonedDateTime} 的同名方法一致：年、月、周、天按本地时间计算，日期超出当月天数时取当月最后一天，
+ * 落在夏令时间隙中时顺延，落在重叠中时尽量保留原来的偏移量；时、分、秒、纳秒按实际经过的时间计算。</p>
+ * <pre>{@code
+ * ZoroCursor cursor = ZoroCursor.of(start);
+ * while (cursor.epochMillis() < end) {
+ *     ...
+ *     cursor.addMinutes(1);
+ * }
+ * }</pre>
+ * <p>不是线程安全的，每个线程使用各自的实例</p>
+ */
+public final class ZoroCursor {
+
+    private ZoneId zone;
+    private ZoneOffsets offsets;
+    private ZoneOffset offset;
+    private int year;
+    private int month;
+    private int day;
+    private int hour;
+    private int minute;
+    private int second;
+    private int nano;
+
+    private ZoroCursor(ZoneId zone) {
+        this.zone = zone;
+        this.offsets = ZoneOffsets.of(zone);
+    }
+
+    public static @NotNull ZoroCursor of(@NotNull Zoro zoro) {
+        Objects.requireNonNull(zoro, "zoro");
+
+        ZonedDateTime date = zoro.toZonedDateTime();
+        ZoroCursor cursor = new ZoroCursor(date.getZone());
+        cursor.setInstant(date.toEpochSecond(), date.getNano());
+        return cursor;
+    }
+
+    public static @NotNull ZoroCursor of(long epochMillis, @NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+
+        ZoroCursor cursor = new ZoroCursor(zone);
+        cursor.setEpochMillis(epochMillis);
+        return cursor;
+    }
+
+    /**
+     * 移动到指定的时刻，时区不变
+     *
+     * @return 当前实例
+     */
+    public @NotNull ZoroCursor setEpochMillis(long epochMillis) {
+        setInstant(Math.floorDiv(epochMillis, 1000), (int) Math.floorMod(epochMillis, 1000) * 1000_000);
+        return this;
+    }
+
+    /**
+     * 转换为指定时区的同一时刻
+     *
+     * @return 当前实例
+     */
+    public @NotNull ZoroCursor withZoneId(@NotNull ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        if (this.zone.equals(zone)) {
+            return this;
+        }
+
+        long epochSecond = epochSecond();
+        this.zone = zone;
+        this.offsets = ZoneOffsets.of(zone);
+        setInstant(epochSecond, nano);
+        return this;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public int offsetSeconds() {
+        return offset.getTotalSeconds();
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public int monthValue() {
+        return month;
+    }
+
+    public int dayOfMonth() {
+        return day;
+    }
+
+    /**
+     * @return 星期，1（周一）~ 7（周日）
+     */
+    public int dayOfWeekValue() {
+        return CalendarMath.dayOfWeek(epochDay());
+    }
+
+    public int hour() {
+        return hour;
+    }
+
+    public int minute() {
+        return minute;
+    }
+
+    public int second() {
+        return second;
+    }
+
+    public int nano() {
+        return nano;
+    }
+
+    public long epochSecond() {
+        return localSecond() - offset.getTotalSeconds();
+    }
+
+    public long epochMillis() {
+        return epochSecond() * 1000 + nano / 1000_000;
+    }
+
+    public @NotNull ZonedDateTime toZonedDateTime() {
+        return ZoneOffsets.toZonedDateTime(epochSecond(), nano, zone);
+    }
+
+    public @NotNull Zoro toZoro() {
+        return Zoro.wrap(toZonedDateTime());
+    }
+
+    public @NotNull ZoroCursor addYears(long years) {
+        return addMonths(Math.multiplyExact(years, 12));
+    }
+
+    public @NotNull ZoroCursor addMonths(long months) {
+        long total = year * 12L + month - 1 + months;
+        int newYear = Math.toIntExact(Math.floorDiv(total, 12));
+        int newMonth = (int) Math.floorMod(total, 12L) + 1;
+        setLocalDate(newYear, newMonth, Math.min(day, CalendarMath.monthLength(newYear, newMonth)));
+        return this;
+    }
+
+    public @NotNull ZoroCursor addWeeks(long weeks) {
+        return addDays(Math.multiplyExact(weeks, 7));
+    }
+
+    public @NotNull ZoroCursor addDays(long days) {
+        if (days != 0) {
+            long packed = CalendarTable.packDate(Math.addExact(epochDay(), days));
+            setLocalDate(CalendarMath.packedYear(packed), CalendarMath.packedMonth(packed),
+                CalendarMath.packedDay(packed));
+        }
+        return this;
+    }
+
+    public @NotNull ZoroCursor addHours(long hours) {
+        return addSeconds(Math.multiplyExact(hours, 3600));
+    }
+
+    public @NotNull ZoroCursor addMinutes(long minutes) {
+        return addSeconds(Math.multiplyExact(minutes, 60));
+    }
+
+    public @NotNull ZoroCursor addSeconds(long seconds) {
+        if (seconds != 0) {
+            setInstant(Math.addExact(epochSecond(), seconds), nano);
+        }
+        return this;
+    }
+
+    public @NotNull ZoroCursor addNanos(long nanos) {
+        if (nanos != 0) {
+            long total = nano + Math.floorMod(nanos, 1000_000_000L);
+            long seconds = Math.floorDiv(nanos, 1000_000_000L) + total / 1000_000_000;
+            setInstant(Math.addExact(epochSecond(), seconds), (int) (total % 1000_000_000));
+        }
+        return this;
+    }
+
+    /**
+     * @throws DateTimeException 年份超出范围
+     */
+    public @NotNull ZoroCursor withYear(int year) {
+        ChronoField.YEAR.checkValidValue(year);
+        setLocalDate(year, month, Math.min(day, CalendarMath.monthLength(year, month)));
+        return this;
+    }
+
+    /**
+     * @throws DateTimeException 月份不在 1 ~ 12 之间
+     */
+    public @NotNull ZoroCursor withMonth(int month) {
+        ChronoField.MONTH_OF_YEAR.checkValidValue(month);
+        setLocalDate(year, month, Math.min(day, CalendarMath.monthLength(year, month)));
+        return this;
+    }
+
+    /**
+     * @throws DateTimeException 当月没有这一天
+     */
+    public @NotNull ZoroCursor withDayOfMonth(int dayOfMonth) {
+        ChronoField.DAY_OF_MONTH.checkValidValue(dayOfMonth);
+        if (dayOfMonth > CalendarMath.monthLength(year, month)) {
+            throw new DateTimeException("Invalid date '" + Month.of(month) + " " + dayOfMonth + "' in " + year);
+        }
+        setLocalDate(year, month, dayOfMonth);
+        return this;
+    }
+
+    public @NotNull ZoroCursor withHour(int hour) {
+        ChronoField.HOUR_OF_DAY.checkValidValue(hour);
+        this.hour = hour;
+        resolveLocal();
+        return this;
+    }
+
+    public @NotNull ZoroCursor withMinute(int minute) {
+        ChronoField.MINUTE_OF_HOUR.checkValidValue(minute);
+        this.minute = minute;
+        resolveLocal();
+        return this;
+    }
+
+    public @NotNull ZoroCursor withSecond(int second) {
+        ChronoField.SECOND_OF_MINUTE.checkValidValue(second);
+        this.second = second;
+        resolveLocal();
+        return this;
+    }
+
+    public @NotNull ZoroCursor withNano(int nano) {
+        ChronoField.NANO_OF_SECOND.checkValidValue(nano);
+        this.nano = nano;
+        return this;
+    }
+
+    public @NotNull ZoroCursor withLastDayOfMonth() {
+        setLocalDate(year, month, CalendarMath.monthLength(year, month));
+        return this;
+    }
+
+    /**
+     * 将比指定单位更小的字段清零，如按 {@link DateUnit#MONTH} 截断后为当月 1 日 00:00:00
+     *
+     * @return 当前实例
+     */
+    public @NotNull ZoroCursor truncateTo(@NotNull DateUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+
+        switch (unit) {
+            case YEAR:
+                month = 1;
+                // fall through
+            case MONTH:
+                day = 1;
+                // fall through
+            case DAY:
+                hour = 0;
+                // fall through
+            case HOUR:
+                minute = 0;
+                // fall through
+            case MINUTE:
+                second = 0;
+                // fall through
+            default:
+                nano = 0;
+        }
+        resolveLocal();
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return toZonedDateTime().toString();
+    }
+
+    private long epochDay() {
+        return CalendarTable.toEpochDay(year, month, day);
+    }
+
+    private long localSecond() {
+        return epochDay() * CalendarMath.SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    private void setLocalDate(int year, int month, int day) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        resolveLocal();
+    }
+
+    /**
+     * 字段修改后重新计算偏移量，夏令时的处理与 {@link ZonedDateTime#ofLocal} 一致，重叠时优先使用原来的偏移量
+     */
+    private void resolveLocal() {
+        long local = localSecond();
+        long epochSecond = offsets.toEpochSecond(local, offset);
+        ZoneOffset resolved = offsets.offsetAt(epochSecond);
+        if (epochSecond + resolved.getTotalSeconds() == local) {
+            offset = resolved;
+        } else {
+            // 落在间隙中，本地时间被顺延
+            setInstant(epochSecond, nano);
+        }
+    }
+
+    private void setInstant(long epochSecond, int nano) {
+        ZoneOffset offset = offsets.offsetAt(epochSecond);
+        long local = epochSecond + offset.getTotalSeconds();
+        long epochDay = Math.floorDiv(local, CalendarMath.SECONDS_PER_DAY);
+        int secondOfDay = (int) (local - epochDay * CalendarMath.SECONDS_PER_DAY);
+        long packed = CalendarTable.packDate(epochDay);
+        this.offset = offset;
+        this.year = CalendarMath.packedYear(packed);
+        this.month = CalendarMath.packedMonth(packed);
+        this.day = CalendarMath.packedDay(packed);
+        this.hour = secondOfDay / 3600;
+        this.minute = secondOfDay / 60 % 60;
+        this.second = secondOfDay % 60;
+        this.nano = nano;
+    }
+
+}
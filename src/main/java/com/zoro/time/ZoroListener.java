@@ -0,0 +1,53 @@
+package com.zoro.time;
+
+/**
+ * 解析、格式化等操作的监听器，用于收集指标。
+ * <p>启动时加载：优先使用系统属性 {@code zoro.listener} 指定的类（需要有公开的无参构造方法），
+ * 否则通过 {@link java.util.ServiceLoader} 查找第一个实现。都没有时不启用，各处的埋点在 JIT 编译后被消除；
+ * 加载失败时通过 {@link java.util.logging} 记录一条警告，同样不启用。
+ * 自带的实现见 {@link ZoroMetrics}</p>
+ * <p>方法会在调用 zoro-time 的线程中同步调用，实现需要是线程安全的，并且尽量轻量</p>
+ *
+ * @see Zoro#listener()
+ */
+public interface ZoroListener {
+
+    /**
+     * 解析完成，包括 {@link Zoro#tryParse} 返回 {@code null} 的情况
+     *
+     * @param pattern 模式
+     * @param success 是否成功
+     * @param nanos   耗时，纳秒
+     */
+    default void onParse(String pattern, boolean success, long nanos) {
+    }
+
+    /**
+     * 格式化完成
+     *
+     * @param pattern 模式
+     * @param nanos   耗时，纳秒
+     */
+    default void onFormat(String pattern, long nanos) {
+    }
+
+    /**
+     * 查找模式缓存，内置模式同样计入命中
+     *
+     * @param pattern 模式
+     * @param hit     是否命中
+     */
+    default void onFormatterCache(String pattern, boolean hit) {
+    }
+
+    /**
+     * {@link Range} 生成了元素。{@code forEach}、流和 {@code forEachRemaining} 每批只调用一次，
+     * 逐个调用 {@code next()} 或 {@code get} 时每个元素调用一次
+     *
+     * @param unit  范围的单位
+     * @param count 元素个数
+     */
+    default void onRangeElements(DateUnit unit, long count) {
+    }
+
+}
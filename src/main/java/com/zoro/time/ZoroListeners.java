@@ -0,0 +1,52 @@
+package com.zoro.time;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 持有启动时加载的 {@link ZoroListener}。
+ * <p>埋点处先判断 {@link #ENABLED}，未启用时该分支在 JIT 编译后被消除，不会读取时钟。
+ * 加载失败（类不存在、无法实例化、服务配置错误等）时记录一条警告并不启用，不影响其余功能</p>
+ */
+final class ZoroListeners {
+
+    static final ZoroListener LISTENER;
+    static final boolean ENABLED;
+
+    private static final ZoroListener NOOP = new ZoroListener() {
+    };
+
+    static {
+        ZoroListener listener;
+        try {
+            listener = load();
+        } catch (RuntimeException | ServiceConfigurationError | LinkageError e) {
+            Logger.getLogger(ZoroListener.class.getName()).log(Level.WARNING,
+                "cannot load ZoroListener, listening disabled", e);
+            listener = null;
+        }
+        ENABLED = listener != null;
+        LISTENER = ENABLED ? listener : NOOP;
+    }
+
+    private ZoroListeners() {
+    }
+
+    private static ZoroListener load() {
+        String name = System.getProperty("zoro.listener");
+        if (name != null && !name.isEmpty()) {
+            try {
+                Class<?> type = Class.forName(name, true, ZoroListener.class.getClassLoader());
+                return (ZoroListener) type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalArgumentException("cannot create zoro.listener: " + name, e);
+            }
+        }
+        Iterator<ZoroListener> iterator = ServiceLoader.load(ZoroListener.class).iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+}
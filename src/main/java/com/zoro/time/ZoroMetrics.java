@@ -0,0 +1,362 @@
+package com.zoro.time;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自带的指标收集器，按模式统计解析、格式化的次数、失败次数、耗时分布和模式缓存的命中情况，
+ * 以及 {@link Range} 各单位生成的元素个数。
+ * <p>耗时按对数分桶记录（每个 2 的幂区间再分为 4 个桶，相对误差不超过 25%），每 {@code samplePeriod} 次记录一次。
+ * 模式数超过 {@value #MAXIMUM_PATTERNS} 后，其余模式合并统计在 {@value #OTHER_PATTERNS} 下</p>
+ * <p>通过系统属性 {@code -Dzoro.listener=com.zoro.time.ZoroMetrics} 启用，之后可以这样导出：</p>
+ * <pre>{@code
+ * ZoroMetrics metrics = (ZoroMetrics) Zoro.listener();
+ * ZoroMetrics.Snapshot snapshot = metrics.snapshot();
+ * }</pre>
+ */
+public final class ZoroMetrics implements ZoroListener {
+
+    public static final int DEFAULT_SAMPLE_PERIOD = 16;
+    public static final int MAXIMUM_PATTERNS = 1024;
+    public static final String OTHER_PATTERNS = "<other>";
+
+    private static final int BUCKETS = 248;
+
+    private final int samplePeriod;
+    private final ConcurrentMap<String, PatternRecorder> patterns = new ConcurrentHashMap<>();
+    private final LongAdder[] rangeElements = new LongAdder[DateUnit.values().length];
+
+    public ZoroMetrics() {
+        this(DEFAULT_SAMPLE_PERIOD);
+    }
+
+    /**
+     * @param samplePeriod 每多少次记录一次耗时，为 1 时每次都记录
+     */
+    public ZoroMetrics(int samplePeriod) {
+        if (samplePeriod < 1) {
+            throw new IllegalArgumentException("samplePeriod < 1");
+        }
+        this.samplePeriod = samplePeriod;
+        for (int i = 0; i < rangeElements.length; i++) {
+            rangeElements[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onParse(String pattern, boolean success, long nanos) {
+        PatternRecorder recorder = recorder(pattern);
+        recorder.parseCount.increment();
+        if (!success) {
+            recorder.parseFailures.increment();
+        }
+        if (sampled()) {
+            recorder.parseLatency.record(nanos);
+        }
+    }
+
+    @Override
+    public void onFormat(String pattern, long nanos) {
+        PatternRecorder recorder = recorder(pattern);
+        recorder.formatCount.increment();
+        if (sampled()) {
+            recorder.formatLatency.record(nanos);
+        }
+    }
+
+    @Override
+    public void onFormatterCache(String pattern, boolean hit) {
+        PatternRecorder recorder = recorder(pattern);
+        (hit ? recorder.cacheHits : recorder.cacheMisses).increment();
+    }
+
+    @Override
+    public void onRangeElements(DateUnit unit, long count) {
+        rangeElements[unit.ordinal()].add(count);
+    }
+
+    public Snapshot snapshot() {
+        Map<String, PatternSnapshot> patternSnapshots = new LinkedHashMap<>();
+        patterns.forEach((pattern, recorder) -> patternSnapshots.put(pattern, recorder.snapshot()));
+        Map<DateUnit, Long> elements = new EnumMap<>(DateUnit.class);
+        for (DateUnit unit : DateUnit.values()) {
+            elements.put(unit, rangeElements[unit.ordinal()].sum());
+        }
+        return new Snapshot(Collections.unmodifiableMap(patternSnapshots), Collections.unmodifiableMap(elements));
+    }
+
+    private boolean sampled() {
+        return samplePeriod == 1 || ThreadLocalRandom.current().nextInt(samplePeriod) == 0;
+    }
+
+    private PatternRecorder recorder(String pattern) {
+        PatternRecorder recorder = patterns.get(pattern);
+        if (recorder != null) {
+            return recorder;
+        }
+        if (patterns.size() >= MAXIMUM_PATTERNS) {
+            pattern = OTHER_PATTERNS;
+        }
+        return patterns.computeIfAbsent(pattern, p -> new PatternRecorder());
+    }
+
+    /**
+     * 对数分桶的下标，0 ~ 3 各占一个桶，之后每个 2 的幂区间分为 4 个桶
+     */
+    static int bucket(long nanos) {
+        if (nanos < 4) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - 2)) & 3;
+        return (exponent - 1) * 4 + sub;
+    }
+
+    /**
+     * 桶内的最小值
+     */
+    static long bucketLowerBound(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int exponent = bucket / 4 + 1;
+        return (long) (4 + bucket % 4) << (exponent - 2);
+    }
+
+    private static final class PatternRecorder {
+
+        final LongAdder parseCount = new LongAdder();
+        final LongAdder parseFailures = new LongAdder();
+        final LongAdder formatCount = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final LongAdder cacheMisses = new LongAdder();
+        final HistogramRecorder parseLatency = new HistogramRecorder();
+        final HistogramRecorder formatLatency = new HistogramRecorder();
+
+        PatternSnapshot snapshot() {
+            return new PatternSnapshot(parseCount.sum(), parseFailures.sum(), formatCount.sum(), cacheHits.sum(),
+                cacheMisses.sum(), parseLatency.snapshot(), formatLatency.snapshot());
+        }
+    }
+
+    private static final class HistogramRecorder {
+
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos) {
+            counts.incrementAndGet(bucket(nanos));
+        }
+
+        Histogram snapshot() {
+            long[] copy = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = counts.get(i);
+            }
+            return new Histogram(copy);
+        }
+    }
+
+    /**
+     * 某一时刻的指标快照
+     */
+    public static final class Snapshot {
+
+        private final Map<String, PatternSnapshot> patterns;
+        private final Map<DateUnit, Long> rangeElements;
+
+        Snapshot(Map<String, PatternSnapshot> patterns, Map<DateUnit, Long> rangeElements) {
+            this.patterns = patterns;
+            this.rangeElements = rangeElements;
+        }
+
+        /**
+         * @return 各模式的指标，只读
+         */
+        public Map<String, PatternSnapshot> patterns() {
+            return patterns;
+        }
+
+        /**
+         * @return {@link Range} 各单位生成的元素个数，只读
+         */
+        public Map<DateUnit, Long> rangeElements() {
+            return rangeElements;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "patterns=" + patterns +
+                ", rangeElements=" + rangeElements +
+                '}';
+        }
+    }
+
+    /**
+     * 单个模式的指标
+     */
+    public static final class PatternSnapshot {
+
+        private final long parseCount;
+        private final long parseFailures;
+        private final long formatCount;
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final Histogram parseLatency;
+        private final Histogram formatLatency;
+
+        PatternSnapshot(long parseCount, long parseFailures, long formatCount, long cacheHits, long cacheMisses,
+                        Histogram parseLatency, Histogram formatLatency) {
+            this.parseCount = parseCount;
+            this.parseFailures = parseFailures;
+            this.formatCount = formatCount;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            this.parseLatency = parseLatency;
+            this.formatLatency = formatLatency;
+        }
+
+        public long parseCount() {
+            return parseCount;
+        }
+
+        public long parseFailures() {
+            return parseFailures;
+        }
+
+        public long formatCount() {
+            return formatCount;
+        }
+
+        public long cacheHits() {
+            return cacheHits;
+        }
+
+        public long cacheMisses() {
+            return cacheMisses;
+        }
+
+        /**
+         * @return 解析耗时的抽样分布，纳秒
+         */
+        public Histogram parseLatency() {
+            return parseLatency;
+        }
+
+        /**
+         * @return 格式化耗时的抽样分布，纳秒
+         */
+        public Histogram formatLatency() {
+            return formatLatency;
+        }
+
+        @Override
+        public String toString() {
+            return "PatternSnapshot{" +
+                "parseCount=" + parseCount +
+                ", parseFailures=" + parseFailures +
+                ", formatCount=" + formatCount +
+                ", cacheHits=" + cacheHits +
+                ", cacheMisses=" + cacheMisses +
+                ", parseLatency=" + parseLatency +
+                ", formatLatency=" + formatLatency +
+                '}';
+        }
+    }
+
+    /**
+     * 对数分桶的耗时分布
+     */
+    public static final class Histogram {
+
+        private final long[] counts;
+        private final long count;
+
+        Histogram(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.count = total;
+        }
+
+        /**
+         * @return 记录的样本数
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * 百分位数的近似值，为所在桶的上界
+         *
+         * @param percentile 百分位，0 ~ 100
+         * @return 纳秒，没有样本时为 0
+         */
+        public long percentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile < 0 or percentile > 100");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length - 1);
+        }
+
+        /**
+         * @return 最大值所在桶的上界，没有样本时为 0
+         */
+        public long max() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * 各桶的计数，第 i 个桶的范围为 [{@link #lowerBound(int) lowerBound(i)}, {@link #upperBound(int) upperBound(i)}]
+         *
+         * @return 计数的副本
+         */
+        public long[] counts() {
+            return counts.clone();
+        }
+
+        public static long lowerBound(int bucket) {
+            return bucketLowerBound(bucket);
+        }
+
+        public static long upperBound(int bucket) {
+            return bucket + 1 < BUCKETS ? bucketLowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{" +
+                "count=" + count +
+                ", p50=" + percentile(50) +
+                ", p99=" + percentile(99) +
+                ", max=" + max() +
+                '}';
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.zoro.time;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * 自动识别格式的解析器，记住上一次成功解析的格式。
+ * <p>为每个数据来源各创建一个实例：来源的格式固定时，每个值只需一次形状检查，不匹配时才重新识别。
+ * 能识别的格式见 {@link Zoro#parseAuto(CharSequence)}</p>
+ * <p>可以在多个线程中共享，但各线程交替解析不同格式时会反复重新识别</p>
+ */
+public final class ZoroParser {
+
+    private volatile TextFormat last;
+
+    private ZoroParser() {
+    }
+
+    public static @NotNull ZoroParser create() {
+        return new ZoroParser();
+    }
+
+    /**
+     * @throws java.time.format.DateTimeParseException 无法识别格式或解析失败
+     */
+    public @NotNull Zoro parse(@NotNull CharSequence text) {
+        Objects.requireNonNull(text, "text");
+
+        TextFormat format = last;
+        if (format == null || !format.matches(text)) {
+            format = TextFormat.classify(text);
+            if (format == null) {
+                throw TextFormat.unrecognized(text);
+            }
+        }
+        Zoro zoro = format.parse(text);
+        last = format;
+        return zoro;
+    }
+
+    /**
+     * 无法识别格式或解析失败时返回 {@code null}
+     */
+    public @Nullable Zoro tryParse(@Nullable CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        TextFormat format = last;
+        if (format == null || !format.matches(text)) {
+            format = TextFormat.classify(text);
+            if (format == null) {
+                return null;
+            }
+        }
+        Zoro zoro = format.pattern == null ? format.parse(text) : Zoro.tryParse(text, format.pattern);
+        if (zoro != null) {
+            last = format;
+        }
+        return zoro;
+    }
+
+    /**
+     * 上一次成功解析的模式，尚未解析过或为时间戳时返回 {@code null}
+     */
+    public @Nullable String lastPattern() {
+        TextFormat format = last;
+        return format == null ? null : format.pattern;
+    }
+
+}
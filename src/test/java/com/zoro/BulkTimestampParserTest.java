@@ -0,0 +1,69 @@
+package com.zoro;
+
+import com.zoro.time.BulkTimestampParser;
+import com.zoro.time.Zoro;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BulkTimestampParserTest {
+
+    @Test
+    public void testParse() throws IOException {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(Zoro.NORMAL_DATETIME_PATTERN);
+        LocalDateTime start = LocalDateTime.of(2021, 3, 14, 0, 0, 0);
+        StringBuilder text = new StringBuilder("id,name,time\r\n");
+        long[] expected = new long[2000];
+        for (int i = 0; i < expected.length; i++) {
+            LocalDateTime local = start.plusMinutes(i * 7L);
+            expected[i] = ZonedDateTime.of(local, Zoro.PST).toInstant().toEpochMilli();
+            text.append(i).append(",row").append(i).append(',').append(formatter.format(local)).append("\r\n");
+            if (i % 500 == 0) {
+                text.append(i).append(",bad,2021-13-01 00:00:00\n\n");
+            }
+        }
+        Path file = Files.createTempFile("zoro", ".csv");
+        try {
+            Files.write(file, text.toString().getBytes(StandardCharsets.US_ASCII));
+            List<Long> malformed = new ArrayList<>();
+            BulkTimestampParser parser = BulkTimestampParser.of(Zoro.NORMAL_DATETIME_PATTERN, Zoro.PST)
+                .column(2, ',')
+                .segmentSize(4096)
+                .onMalformed((offset, length) -> {
+                    synchronized (malformed) {
+                        malformed.add(offset);
+                    }
+                });
+
+            assertArrayEquals(expected, parser.parseAll(file));
+            assertEquals(5, malformed.size());
+            assertEquals(0L, (long) malformed.stream().mapToLong(Long::longValue).min().getAsLong());
+
+            List<Long> sequential = new ArrayList<>();
+            assertEquals(expected.length, parser.parse(file, sequential::add));
+            assertEquals(expected.length, sequential.size());
+            assertEquals(expected[expected.length - 1], (long) sequential.get(expected.length - 1));
+
+            // 与 Zoro.parse 一样，日期超过当月天数时取当月最后一天
+            Files.write(file, "2021-02-30 00:00:00\n2021-04-31 12:00:00\n".getBytes(StandardCharsets.US_ASCII));
+            assertArrayEquals(new long[]{Zoro.parse("2021-02-30 00:00:00", Zoro.NORMAL_DATETIME_PATTERN).timestamp(),
+                    Zoro.parse("2021-04-31 12:00:00", Zoro.NORMAL_DATETIME_PATTERN).timestamp()},
+                BulkTimestampParser.of(Zoro.NORMAL_DATETIME_PATTERN, ZoneId.systemDefault()).parseAll(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.zoro;
+
+import com.zoro.time.BusinessCalendar;
+import com.zoro.time.Zoro;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BusinessCalendarTest {
+
+    private static final LocalDate FROM = LocalDate.of(2020, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2029, 12, 31);
+
+    @Test
+    public void testAgainstLoop() {
+        Random random = new Random(3);
+        Set<LocalDate> holidays = new HashSet<>();
+        for (int i = 0; i < 300; i++) {
+            holidays.add(FROM.plusDays(random.nextInt(3650)));
+        }
+        BusinessCalendar calendar = BusinessCalendar.of(FROM, TO).withHolidays(holidays);
+        for (int i = 0; i < 2000; i++) {
+            LocalDate start = FROM.plusDays(100 + random.nextInt(3400));
+            LocalDate end = start.plusDays(random.nextInt(200) - 100);
+            assertEquals(isBusinessDay(start, holidays), calendar.isBusinessDay(start));
+            assertEquals(count(start, end, holidays), calendar.countBusinessDays(start, end));
+
+            int days = random.nextInt(60) - 30;
+            LocalDate expected = start;
+            for (int n = Math.abs(days); n > 0; ) {
+                expected = expected.plusDays(Integer.signum(days));
+                if (isBusinessDay(expected, holidays)) {
+                    n--;
+                }
+            }
+            assertEquals(expected, calendar.addBusinessDays(start, days));
+        }
+    }
+
+    @Test
+    public void testLoad() throws IOException {
+        String text = "# 国庆节\n"
+            + "2024-10-01..2024-10-07\n"
+            + "+2024-09-29  # 调休\n"
+            + "\n"
+            + "+ 2024-10-12\n"
+            + "2031-01-01\n";
+        BusinessCalendar calendar = BusinessCalendar.load(new StringReader(text), FROM, TO);
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2024, 9, 29)));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 10, 7)));
+        assertEquals(LocalDate.of(2024, 10, 8), calendar.nextBusinessDay(LocalDate.of(2024, 9, 30)));
+        assertEquals(LocalDate.of(2024, 9, 30), calendar.previousBusinessDay(LocalDate.of(2024, 10, 8)));
+        assertEquals(LocalDate.of(2024, 10, 12), calendar.addBusinessDays(LocalDate.of(2024, 9, 30), 5));
+        assertEquals(2, calendar.countBusinessDays(LocalDate.of(2024, 9, 28), LocalDate.of(2024, 10, 8)));
+
+        Zoro trade = Zoro.create(ZonedDateTime.of(2024, 9, 30, 15, 30, 0, 0, Zoro.SHANG_HAI));
+        Zoro settlement = calendar.addBusinessDays(trade, 2);
+        assertEquals(ZonedDateTime.of(2024, 10, 9, 15, 30, 0, 0, Zoro.SHANG_HAI), settlement.toZonedDateTime());
+        assertEquals(2, calendar.countBusinessDays(trade, settlement));
+        assertEquals(30, trade.dayOfMonth());
+    }
+
+    @Test
+    public void testBounds() {
+        BusinessCalendar calendar = BusinessCalendar.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7),
+            new HashSet<>(Arrays.asList(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY)));
+        assertEquals(5, calendar.countBusinessDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8)));
+        assertEquals(LocalDate.of(2024, 1, 7), calendar.nextBusinessDay(LocalDate.of(2024, 1, 4)));
+        try {
+            calendar.nextBusinessDay(LocalDate.of(2024, 1, 7));
+            throw new AssertionError();
+        } catch (DateTimeException expected) {
+            // 超出范围
+        }
+        try {
+            calendar.isBusinessDay(LocalDate.of(2024, 1, 8));
+            throw new AssertionError();
+        } catch (DateTimeException expected) {
+            // 超出范围
+        }
+    }
+
+    private static boolean isBusinessDay(LocalDate date, Set<LocalDate> holidays) {
+        return date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY
+            && !holidays.contains(date);
+    }
+
+    private static long count(LocalDate start, LocalDate end, Set<LocalDate> holidays) {
+        if (end.isBefore(start)) {
+            return -count(end, start, holidays);
+        }
+        long count = 0;
+        for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+            if (isBusinessDay(date, holidays)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
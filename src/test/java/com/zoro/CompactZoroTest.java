@@ -0,0 +1,63 @@
+package com.zoro;
+
+import com.zoro.time.CompactZoro;
+import com.zoro.time.Zoro;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompactZoroTest {
+
+    @Test
+    public void testFields() {
+        for (ZonedDateTime date : new ZonedDateTime[]{
+            ZonedDateTime.of(2021, 3, 14, 1, 59, 59, 123_000_000, Zoro.PST),
+            ZonedDateTime.of(2021, 3, 14, 3, 0, 0, 0, Zoro.PST),
+            ZonedDateTime.of(2020, 12, 31, 23, 59, 59, 0, Zoro.SHANG_HAI),
+            ZonedDateTime.of(1969, 12, 31, 0, 0, 0, 1, Zoro.UTC)}) {
+            CompactZoro compact = CompactZoro.of(Zoro.create(date));
+            assertEquals(date.getYear(), compact.year());
+            assertEquals(date.getMonthValue(), compact.monthValue());
+            assertEquals(date.getDayOfMonth(), compact.dayOfMonth());
+            assertEquals(date.getDayOfYear(), compact.dayOfYear());
+            assertEquals(date.getDayOfWeek(), compact.dayOfWeek());
+            assertEquals(date.getHour(), compact.hour());
+            assertEquals(date.getMinute(), compact.minute());
+            assertEquals(date.getSecond(), compact.second());
+            assertEquals(date.getNano(), compact.nano());
+            assertEquals(date, compact.toZonedDateTime());
+            assertEquals(date.toInstant().toEpochMilli(), compact.timestamp());
+        }
+
+        // 覆盖日历表窗口内外的日期
+        for (long epochDay = -30_000; epochDay < 90_000; epochDay += 13) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            CompactZoro compact = CompactZoro.of(epochDay * 86400 + 3600, 0, Zoro.UTC);
+            assertEquals(date.getYear(), compact.year());
+            assertEquals(date.getMonthValue(), compact.monthValue());
+            assertEquals(date.getDayOfMonth(), compact.dayOfMonth());
+            assertEquals(date.getDayOfYear(), compact.dayOfYear());
+        }
+    }
+
+    @Test
+    public void testFootprint() {
+        Zoro zoro = Zoro.now(Zoro.SHANG_HAI);
+        CompactZoro compact = CompactZoro.of(zoro);
+
+        // 时区、偏移量和星期枚举为共享对象，不计入单个实例的占用。按总大小相减而不是 subtract，
+        // 后者按地址匹配对象，两次遍历之间发生 GC 时结果不准确
+        long zoroSize = GraphLayout.parseInstance(zoro).totalSize() - GraphLayout.parseInstance(Zoro.SHANG_HAI,
+            zoro.toZonedDateTime().getOffset(), DayOfWeek.MONDAY).totalSize();
+        long compactSize = GraphLayout.parseInstance(compact).totalSize()
+            - GraphLayout.parseInstance(Zoro.SHANG_HAI).totalSize();
+        assertTrue(compactSize * 3 <= zoroSize);
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.zoro;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.IntervalIndex;
+import com.zoro.time.Range;
+import com.zoro.time.Zoro;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalIndexTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+
+    @Test
+    public void testQueries() {
+        Random random = new Random(11);
+        List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ranges.add(randomRange(random));
+        }
+        IntervalIndex bulk = IntervalIndex.of(ranges);
+        IntervalIndex incremental = new IntervalIndex();
+        ranges.forEach(incremental::add);
+        assertEquals(500, bulk.size());
+
+        for (int round = 0; round < 20; round++) {
+            for (IntervalIndex index : new IntervalIndex[]{bulk, incremental}) {
+                for (int i = 0; i < 50; i++) {
+                    long from = BASE + random.nextInt(30 * 24) * 3600_000L;
+                    long to = from + random.nextInt(5 * 24) * 3600_000L;
+                    assertEquals(scan(ranges, from, to), sorted(index.overlapping(from, to)));
+                    assertEquals(scan(ranges, from, from), sorted(index.stab(from)));
+                    assertArrayEquals(mergeScan(ranges, from, to), index.union(from, to));
+                }
+                assertArrayEquals(mergeScan(ranges, Long.MIN_VALUE, Long.MAX_VALUE), index.union());
+            }
+            // 随机删除和添加，两个索引保持一致
+            for (int i = 0; i < 30; i++) {
+                Range removed = ranges.remove(random.nextInt(ranges.size()));
+                assertTrue(bulk.remove(removed));
+                assertTrue(incremental.remove(removed));
+                assertFalse(bulk.remove(removed));
+                Range added = randomRange(random);
+                ranges.add(added);
+                assertTrue(bulk.add(added));
+                assertTrue(incremental.add(added));
+                assertFalse(incremental.add(added));
+            }
+            assertEquals(ranges.size(), bulk.size());
+            assertEquals(ranges.size(), incremental.size());
+        }
+    }
+
+    @Test
+    public void testRange() {
+        Zoro start = at("2024-03-01 00:00:00");
+        Range march = Zoro.range(start, at("2024-03-31 00:00:00"), DateUnit.DAY);
+        Range april = Zoro.range(at("2024-04-01 00:00:00"), at("2024-04-30 00:00:00"), DateUnit.DAY);
+        Range week = Zoro.range(at("2024-03-28 00:00:00"), at("2024-04-03 00:00:00"), DateUnit.DAY);
+        assertEquals(start.timestamp(), march.startMillis());
+        assertEquals(start.timestamp(), march.start().timestamp());
+        assertEquals(at("2024-03-31 00:00:00").timestamp(), march.end().timestamp());
+        assertFalse(march.overlaps(april));
+        assertTrue(march.overlaps(week));
+        assertTrue(week.overlaps(april));
+
+        IntervalIndex index = IntervalIndex.of(Arrays.asList(march, april, week, march));
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(march, week), index.stab(at("2024-03-30 12:00:00")));
+        assertEquals(Arrays.asList(march, week, april), index.overlapping(week));
+        assertArrayEquals(new long[]{march.startMillis(), april.endMillis()}, index.union());
+        index.remove(week);
+        assertEquals(4, index.union().length);
+
+        // 端点都包含在内，相差 1 毫秒的范围首尾相接，合并为一个
+        Zoro first = Zoro.create(BASE);
+        IntervalIndex touching = IntervalIndex.of(Arrays.asList(
+            Zoro.range(first, Zoro.create(BASE + 9), DateUnit.SECOND),
+            Zoro.range(Zoro.create(BASE + 10), Zoro.create(BASE + 19), DateUnit.SECOND),
+            Zoro.range(Zoro.create(BASE + 21), Zoro.create(BASE + 30), DateUnit.SECOND)));
+        assertArrayEquals(new long[]{BASE, BASE + 19, BASE + 21, BASE + 30}, touching.union());
+        assertArrayEquals(new long[]{BASE, BASE + 19}, touching.union(BASE + 5, BASE + 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReversed() {
+        new IntervalIndex().add(Zoro.range(at("2024-03-02 00:00:00"),
+            at("2024-03-01 00:00:00"), DateUnit.DAY));
+    }
+
+    private static Zoro at(String text) {
+        return Zoro.parse(text, "yyyy-MM-dd HH:mm:ss");
+    }
+
+    private static Range randomRange(Random random) {
+        Zoro start = Zoro.create(BASE + random.nextInt(30 * 24) * 3600_000L, Zoro.SHANG_HAI);
+        // 一部分范围在整点前 1 毫秒结束，与从整点开始的范围首尾相接
+        long end = start.timestamp() + random.nextInt(3 * 24) * 3600_000L - (random.nextBoolean() ? 1 : 0);
+        return Zoro.range(start, Zoro.create(Math.max(end, start.timestamp()), Zoro.SHANG_HAI), DateUnit.HOUR);
+    }
+
+    private static List<Range> scan(List<Range> ranges, long from, long to) {
+        return sorted(ranges.stream()
+            .filter(range -> range.startMillis() <= to && range.endMillis() >= from)
+            .collect(Collectors.toList()));
+    }
+
+    private static List<Range> sorted(List<Range> ranges) {
+        List<Range> copy = new ArrayList<>(ranges);
+        copy.sort(Comparator.comparingLong(Range::startMillis).thenComparingLong(Range::endMillis)
+            .thenComparingInt(System::identityHashCode));
+        return copy;
+    }
+
+    private static long[] mergeScan(List<Range> ranges, long from, long to) {
+        List<Range> hits = scan(ranges, from, to);
+        List<Long> merged = new ArrayList<>();
+        for (Range range : hits) {
+            int last = merged.size() - 1;
+            if (last > 0 && range.startMillis() <= merged.get(last) + 1) {
+                merged.set(last, Math.max(merged.get(last), range.endMillis()));
+            } else {
+                merged.add(range.startMillis());
+                merged.add(range.endMillis());
+            }
+        }
+        return merged.stream().mapToLong(Long::longValue).toArray();
+    }
+
+}
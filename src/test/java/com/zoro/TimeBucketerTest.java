@@ -0,0 +1,188 @@
+package com.zoro;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.TimeBucketer;
+import com.zoro.time.Zoro;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeBucketerTest {
+
+    private static final ZoneId[] ZONES = {Zoro.PST, Zoro.SHANG_HAI, ZoneId.of("America/Sao_Paulo"),
+        ZoneId.of("Australia/Lord_Howe")};
+
+    @Test
+    public void testFloor() {
+        Random random = new Random(5);
+        long from = ZonedDateTime.of(1980, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        long to = ZonedDateTime.of(2030, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        for (ZoneId zone : ZONES) {
+            TimeBucketer days = TimeBucketer.of(DateUnit.DAY, 1, zone);
+            TimeBucketer threeDays = TimeBucketer.of(DateUnit.DAY, 3, zone);
+            TimeBucketer weeks = TimeBucketer.weeks(1, DayOfWeek.SUNDAY, zone);
+            TimeBucketer months = TimeBucketer.of(DateUnit.MONTH, 1, zone);
+            TimeBucketer quarters = TimeBucketer.of(DateUnit.MONTH, 3, zone);
+            TimeBucketer years = TimeBucketer.of(DateUnit.YEAR, 1, zone);
+            for (int i = 0; i < 20_000; i++) {
+                long millis = from + (long) (random.nextDouble() * (to - from));
+                ZonedDateTime date = Instant.ofEpochMilli(millis).atZone(zone);
+                LocalDate local = date.toLocalDate();
+                assertEquals(millis(local.atStartOfDay(zone)), days.floor(millis));
+                assertEquals(millis(LocalDate.ofEpochDay(Math.floorDiv(local.toEpochDay(), 3) * 3)
+                    .atStartOfDay(zone)), threeDays.floor(millis));
+                assertEquals(millis(local.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY))
+                    .atStartOfDay(zone)), weeks.floor(millis));
+                assertEquals(millis(local.withDayOfMonth(1).atStartOfDay(zone)), months.floor(millis));
+                assertEquals(millis(local.withDayOfMonth(1).withMonth((local.getMonthValue() - 1) / 3 * 3 + 1)
+                    .atStartOfDay(zone)), quarters.floor(millis));
+                assertEquals(millis(local.withDayOfYear(1).atStartOfDay(zone)), years.floor(millis));
+                assertEquals(millis(local.plusDays(1).atStartOfDay(zone)), days.ceil(millis + 1));
+            }
+        }
+    }
+
+    @Test
+    public void testTimeUnits() {
+        Random random = new Random(8);
+        long from = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        for (ZoneId zone : new ZoneId[]{Zoro.PST, Zoro.SHANG_HAI, ZoneId.of("Asia/Kolkata"),
+            ZoneId.of("America/Caracas"), ZoneId.of("Asia/Pyongyang")}) {
+            TimeBucketer hours = TimeBucketer.of(DateUnit.HOUR, 1, zone);
+            TimeBucketer fiveMinutes = TimeBucketer.of(DateUnit.MINUTE, 5, zone);
+            long[] millis = new long[10_000];
+            for (int i = 0; i < millis.length; i++) {
+                millis[i] = from + (long) (random.nextDouble() * 30L * 365 * 86400_000);
+            }
+            long[] floors = new long[millis.length];
+            fiveMinutes.floor(millis, floors);
+            for (int i = 0; i < millis.length; i++) {
+                ZonedDateTime date = Instant.ofEpochMilli(millis[i]).atZone(zone);
+                assertEquals(millis(date.truncatedTo(ChronoUnit.HOURS)), hours.floor(millis[i]));
+                ZonedDateTime minutes = date.truncatedTo(ChronoUnit.MINUTES);
+                assertEquals(millis(minutes.minusMinutes(minutes.getMinute() % 5)), floors[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testIndex() {
+        long start = ZonedDateTime.of(2021, 1, 1, 0, 0, 0, 0, Zoro.PST).toInstant().toEpochMilli();
+        for (TimeBucketer bucketer : new TimeBucketer[]{TimeBucketer.of(DateUnit.DAY, 1, Zoro.PST),
+            TimeBucketer.of(DateUnit.HOUR, 1, Zoro.PST), TimeBucketer.weeks(2, DayOfWeek.MONDAY, Zoro.PST),
+            TimeBucketer.of(DateUnit.MONTH, 1, Zoro.PST)}) {
+            long first = bucketer.index(start);
+            long previous = Long.MIN_VALUE;
+            for (long index = first; index < first + 400; index++) {
+                long bucketStart = bucketer.startOf(index);
+                assertTrue(bucketStart > previous);
+                assertEquals(index, bucketer.index(bucketStart));
+                assertEquals(index, bucketer.index(bucketer.startOf(index + 1) - 1));
+                assertEquals(bucketStart, bucketer.floor(bucketStart));
+                assertEquals(bucketStart, bucketer.ceil(bucketStart));
+                previous = bucketStart;
+            }
+        }
+        // 夏令时开始和结束的当天分别为 23 和 25 小时
+        TimeBucketer days = TimeBucketer.of(DateUnit.DAY, 1, Zoro.PST);
+        long spring = ZonedDateTime.of(2021, 3, 14, 12, 0, 0, 0, Zoro.PST).toInstant().toEpochMilli();
+        assertEquals(23 * 3600_000L, days.ceil(spring) - days.floor(spring));
+        long fall = ZonedDateTime.of(2021, 11, 7, 12, 0, 0, 0, Zoro.PST).toInstant().toEpochMilli();
+        assertEquals(25 * 3600_000L, days.ceil(fall) - days.floor(fall));
+        assertEquals(0, days.index(ZonedDateTime.of(1970, 1, 1, 23, 0, 0, 0, Zoro.PST).toInstant().toEpochMilli()));
+    }
+
+    @Test
+    public void testOffsetChanges() {
+        // 加拉加斯 2007 年从 -04:00 改为 -04:30，2016 年改回；平壤 2015 年从 +09:00 改为 +08:30，2018 年改回
+        ZoneId caracas = ZoneId.of("America/Caracas");
+        ZoneId pyongyang = ZoneId.of("Asia/Pyongyang");
+        TimeBucketer hours = TimeBucketer.of(DateUnit.HOUR, 1, caracas);
+        long millis = millis(ZonedDateTime.of(2010, 6, 1, 10, 15, 0, 0, caracas));
+        assertEquals(millis(ZonedDateTime.of(2010, 6, 1, 10, 0, 0, 0, caracas)), hours.floor(millis));
+        assertEquals(millis(ZonedDateTime.of(2010, 6, 1, 11, 0, 0, 0, caracas)), hours.ceil(millis));
+        assertEquals(hours.floor(millis), hours.startOf(hours.index(millis)));
+        millis = millis(ZonedDateTime.of(2020, 6, 1, 10, 15, 0, 0, caracas));
+        assertEquals(millis(ZonedDateTime.of(2020, 6, 1, 10, 0, 0, 0, caracas)), hours.floor(millis));
+
+        TimeBucketer quarters = TimeBucketer.of(DateUnit.MINUTE, 15, pyongyang);
+        for (int year : new int[]{2014, 2016, 2019}) {
+            millis = millis(ZonedDateTime.of(year, 3, 1, 10, 20, 0, 0, pyongyang));
+            long floor = millis(ZonedDateTime.of(year, 3, 1, 10, 15, 0, 0, pyongyang));
+            assertEquals(floor, quarters.floor(millis));
+            assertEquals(floor, quarters.startOf(quarters.index(millis)));
+            assertEquals(floor + 900_000, quarters.ceil(millis));
+        }
+        // 2015-08-15 00:00 回拨到 23:30，重复的半小时分属不同的桶
+        long first = millis(ZonedDateTime.of(2015, 8, 14, 23, 45, 0, 0, ZoneOffset.ofHours(9)));
+        long second = millis(ZonedDateTime.of(2015, 8, 14, 23, 45, 0, 0, ZoneOffset.ofHoursMinutes(8, 30)));
+        assertEquals(first, quarters.floor(first));
+        assertEquals(second, quarters.floor(second));
+        assertEquals(second, quarters.ceil(second));
+        assertEquals(quarters.index(first) + 2, quarters.index(second));
+        assertEquals(second, quarters.startOf(quarters.index(second)));
+    }
+
+    @Test
+    public void testTransitions() {
+        // 夏令时结束时回拨 1 小时，重复的 1 点分为两个桶
+        TimeBucketer hours = TimeBucketer.of(DateUnit.HOUR, 1, Zoro.PST);
+        long pdt = millis(ZonedDateTime.of(2021, 11, 7, 1, 30, 0, 0, ZoneOffset.ofHours(-7)));
+        long pst = millis(ZonedDateTime.of(2021, 11, 7, 1, 0, 0, 0, ZoneOffset.ofHours(-8)));
+        assertEquals(pst, hours.ceil(pdt));
+        assertEquals(pst, hours.floor(pst + 1800_000));
+        assertEquals(hours.index(pdt) + 1, hours.index(pst));
+
+        // 回拨、拨快 1 小时、半小时，以及桶长度不能整除变化量的情况
+        ZoneId caracas = ZoneId.of("America/Caracas");
+        ZoneId lordHowe = ZoneId.of("Australia/Lord_Howe");
+        checkAround(hours, ZonedDateTime.of(2021, 11, 7, 0, 0, 0, 0, Zoro.PST));
+        checkAround(hours, ZonedDateTime.of(2021, 3, 14, 0, 0, 0, 0, Zoro.PST));
+        checkAround(TimeBucketer.of(DateUnit.MINUTE, 45, Zoro.PST), ZonedDateTime.of(2021, 11, 7, 0, 0, 0, 0, Zoro.PST));
+        checkAround(TimeBucketer.of(DateUnit.HOUR, 1, caracas), ZonedDateTime.of(2007, 12, 9, 1, 0, 0, 0, caracas));
+        checkAround(TimeBucketer.of(DateUnit.HOUR, 1, caracas), ZonedDateTime.of(2016, 5, 1, 1, 0, 0, 0, caracas));
+        checkAround(TimeBucketer.of(DateUnit.HOUR, 1, lordHowe), ZonedDateTime.of(2021, 4, 4, 0, 0, 0, 0, lordHowe));
+        checkAround(TimeBucketer.of(DateUnit.HOUR, 1, lordHowe), ZonedDateTime.of(2021, 10, 3, 0, 0, 0, 0, lordHowe));
+    }
+
+    /**
+     * 从 {@code from} 开始的 4 小时内逐分钟检查 floor、index、startOf、ceil 一致
+     */
+    private static void checkAround(TimeBucketer bucketer, ZonedDateTime from) {
+        long start = millis(from);
+        long previousIndex = bucketer.index(start - 60_000);
+        for (long t = start; t < start + 4 * 3600_000L; t += 60_000) {
+            long floor = bucketer.floor(t);
+            long index = bucketer.index(t);
+            assertTrue(floor <= t);
+            assertEquals(floor, bucketer.startOf(index));
+            assertTrue(index == previousIndex || index == previousIndex + 1);
+            assertEquals(index == previousIndex, bucketer.floor(t - 60_000) == floor);
+            long ceil = bucketer.ceil(t);
+            if (ceil > t) {
+                assertEquals(ceil, bucketer.floor(ceil));
+                assertEquals(floor, bucketer.floor(ceil - 1));
+                assertEquals(index + 1, bucketer.index(ceil));
+            } else {
+                assertEquals(t, floor);
+            }
+            previousIndex = index;
+        }
+    }
+
+    private static long millis(ZonedDateTime date) {
+        return date.toInstant().toEpochMilli();
+    }
+
+}
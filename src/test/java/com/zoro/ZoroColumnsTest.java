@@ -0,0 +1,75 @@
+package com.zoro;
+
+import com.zoro.time.Zoro;
+import com.zoro.time.ZoroColumns;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ZoroColumnsTest {
+
+    @Test
+    public void testDecompose() {
+        Random random = new Random(42);
+        long from = ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        long to = ZonedDateTime.of(2100, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        for (int length : new int[]{1000, 100_000}) {
+            long[] millis = new long[length];
+            for (int i = 0; i < length; i++) {
+                millis[i] = i % 2 == 0 ? from + (long) (random.nextDouble() * (to - from))
+                    : 1615712400000L + (i - length / 2) * 60_000L;
+            }
+            for (ZoneId zone : new ZoneId[]{Zoro.PST, Zoro.SHANG_HAI, Zoro.UTC}) {
+                int[] year = new int[length];
+                int[] month = new int[length];
+                int[] day = new int[length];
+                int[] hour = new int[length];
+                int[] dayOfWeek = new int[length];
+                int[] quarter = new int[length];
+                ZoroColumns.decompose(millis, zone, year, month, day, hour, dayOfWeek, quarter);
+                for (int i = 0; i < length; i++) {
+                    ZonedDateTime expected = Instant.ofEpochMilli(millis[i]).atZone(zone);
+                    assertEquals(expected.getYear(), year[i]);
+                    assertEquals(expected.getMonthValue(), month[i]);
+                    assertEquals(expected.getDayOfMonth(), day[i]);
+                    assertEquals(expected.getHour(), hour[i]);
+                    assertEquals(expected.getDayOfWeek().getValue(), dayOfWeek[i]);
+                    assertEquals((expected.getMonthValue() - 1) / 3 + 1, quarter[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDiff() {
+        Random random = new Random(42);
+        long from = ZonedDateTime.of(1890, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        long to = ZonedDateTime.of(2210, 1, 1, 0, 0, 0, 0, Zoro.UTC).toInstant().toEpochMilli();
+        int length = 100_000;
+        long[] start = new long[length];
+        long[] end = new long[length];
+        for (int i = 0; i < length; i++) {
+            start[i] = from + (long) (random.nextDouble() * (to - from));
+            long span = i % 2 == 0 ? to - from : 90L * 86400_000;
+            end[i] = start[i] + (long) ((random.nextDouble() - 0.5) * span);
+        }
+        long[] result = new long[length];
+        for (ZoneId zone : new ZoneId[]{Zoro.PST, Zoro.SHANG_HAI}) {
+            for (ChronoUnit unit : new ChronoUnit[]{ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS,
+                ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS}) {
+                ZoroColumns.diff(start, end, zone, unit, result);
+                for (int i = 0; i < length; i += 7) {
+                    assertEquals(unit.between(Instant.ofEpochMilli(start[i]).atZone(zone),
+                        Instant.ofEpochMilli(end[i]).atZone(zone)), result[i]);
+                }
+            }
+        }
+    }
+
+}
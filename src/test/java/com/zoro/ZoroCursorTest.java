@@ -0,0 +1,122 @@
+package com.zoro;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.Zoro;
+import com.zoro.time.ZoroCursor;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ZoroCursorTest {
+
+    @Test
+    public void testWalk() {
+        Random random = new Random(3);
+        for (ZoneId zone : new ZoneId[]{Zoro.PST, ZoneId.of("Australia/Lord_Howe"), Zoro.SHANG_HAI, Zoro.UTC}) {
+            Zoro zoro = Zoro.create(2020, 1, 31, 1, 30, 0, 250, zone);
+            ZoroCursor cursor = ZoroCursor.of(zoro);
+            for (int i = 0; i < 20_000; i++) {
+                int amount = random.nextInt(7) - 2;
+                switch (random.nextInt(14)) {
+                    case 0:
+                        zoro.addYears(amount);
+                        cursor.addYears(amount);
+                        break;
+                    case 1:
+                        zoro.addMonths(amount);
+                        cursor.addMonths(amount);
+                        break;
+                    case 2:
+                        zoro.addWeeks(amount);
+                        cursor.addWeeks(amount);
+                        break;
+                    case 3:
+                        zoro.addDays(amount);
+                        cursor.addDays(amount);
+                        break;
+                    case 4:
+                        zoro.addHours(amount * 5L);
+                        cursor.addHours(amount * 5L);
+                        break;
+                    case 5:
+                        zoro.addMinutes(amount * 37L);
+                        cursor.addMinutes(amount * 37L);
+                        break;
+                    case 6:
+                        zoro.addNanos(amount * 700_000_000L);
+                        cursor.addNanos(amount * 700_000_000L);
+                        break;
+                    case 7:
+                        int hour = random.nextInt(24);
+                        zoro.withHour(hour);
+                        cursor.withHour(hour);
+                        break;
+                    case 8:
+                        int month = random.nextInt(12) + 1;
+                        zoro.withMonth(month);
+                        cursor.withMonth(month);
+                        break;
+                    case 9:
+                        int day = random.nextInt(28) + 1;
+                        zoro.withDayOfMonth(day);
+                        cursor.withDayOfMonth(day);
+                        break;
+                    case 10:
+                        zoro.withLastDayOfMonth();
+                        cursor.withLastDayOfMonth();
+                        break;
+                    case 11:
+                        zoro.with(date -> ((ZonedDateTime) date).truncatedTo(ChronoUnit.HOURS));
+                        cursor.truncateTo(DateUnit.HOUR);
+                        break;
+                    case 12:
+                        zoro.with(TemporalAdjusters.firstDayOfMonth())
+                            .with(date -> ((ZonedDateTime) date).truncatedTo(ChronoUnit.DAYS));
+                        cursor.truncateTo(DateUnit.MONTH);
+                        break;
+                    default:
+                        zoro.addSeconds(amount * 1800L);
+                        cursor.addSeconds(amount * 1800L);
+                        break;
+                }
+                assertEquals(zoro.toZonedDateTime(), cursor.toZonedDateTime());
+                assertEquals(zoro.timestamp(), cursor.epochMillis());
+                assertEquals(zoro.year(), cursor.year());
+                assertEquals(zoro.dayOfMonth(), cursor.dayOfMonth());
+                assertEquals(zoro.hour(), cursor.hour());
+                assertEquals(zoro.dayOfWeekValue(), cursor.dayOfWeekValue());
+            }
+        }
+    }
+
+    @Test
+    public void testDst() {
+        // 2021-11-07 01:30 在洛杉矶重叠两次，修改字段时保留原来的偏移量
+        ZoroCursor cursor = ZoroCursor.of(ZonedDateTime.of(2021, 11, 7, 1, 30, 0, 0, Zoro.PST)
+            .withLaterOffsetAtOverlap().toInstant().toEpochMilli(), Zoro.PST);
+        assertEquals(-8 * 3600, cursor.offsetSeconds());
+        cursor.withMinute(10);
+        assertEquals(-8 * 3600, cursor.offsetSeconds());
+        cursor.addHours(-1);
+        assertEquals(-7 * 3600, cursor.offsetSeconds());
+        assertEquals(1, cursor.hour());
+
+        // 落在间隙中的本地时间被顺延
+        cursor.setEpochMillis(ZonedDateTime.of(2021, 3, 13, 2, 30, 0, 0, Zoro.PST).toInstant().toEpochMilli());
+        cursor.addDays(1);
+        assertEquals(3, cursor.hour());
+        assertEquals(30, cursor.minute());
+        assertEquals(-7 * 3600, cursor.offsetSeconds());
+
+        cursor.withZoneId(Zoro.SHANG_HAI);
+        assertEquals(18, cursor.hour());
+        assertEquals(8 * 3600, cursor.offsetSeconds());
+    }
+
+}
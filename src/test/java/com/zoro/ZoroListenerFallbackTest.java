@@ -0,0 +1,25 @@
+package com.zoro;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.Zoro;
+import com.zoro.time.ZoroListener;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * 在单独的 JVM 中以不存在的 {@code zoro.listener} 运行，见 pom.xml 中的 {@code listener-fallback-test}
+ */
+public class ZoroListenerFallbackTest {
+
+    @Test
+    public void testFallback() {
+        ZoroListener listener = Zoro.listener();
+        assertFalse(listener instanceof ZoroListenerTest.Recording);
+        Zoro start = Zoro.parse("2021/03/14 02:30", "yyyy/MM/dd HH:mm");
+        assertEquals("2021-03-14", start.format(Zoro.NORMAL_DATE_PATTERN));
+        assertEquals(3, Zoro.range(start, Zoro.parse("2021/03/16 02:30", "yyyy/MM/dd HH:mm"), DateUnit.DAY).size());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.zoro;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.Range;
+import com.zoro.time.Zoro;
+import com.zoro.time.ZoroListener;
+import com.zoro.time.ZoroMetrics;
+import org.junit.Test;
+
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 在单独的 JVM 中以 {@code -Dzoro.listener=com.zoro.ZoroListenerTest$Recording} 运行，见 pom.xml 中的
+ * {@code listener-test}，默认的测试不包含该类
+ */
+public class ZoroListenerTest {
+
+    private static final String PATTERN = "dd/MM/yyyy HH:mm:ss";
+
+    @Test
+    public void testCallSites() {
+        assertTrue(Zoro.listener() instanceof Recording);
+        Recording recording = (Recording) Zoro.listener();
+
+        Zoro zoro = Zoro.parse("14/03/2021 10:15:30", PATTERN);
+        try {
+            Zoro.parse("14/13/2021 10:15:30", PATTERN);
+            fail();
+        } catch (DateTimeParseException e) {
+            assertEquals(0, e.getErrorIndex());
+        }
+        assertNull(Zoro.tryParse("14/03/2021", PATTERN));
+        assertEquals("14/03/2021 10:15:30", zoro.format(PATTERN));
+
+        ZoroMetrics.PatternSnapshot pattern = recording.metrics.snapshot().patterns().get(PATTERN);
+        assertEquals(3, pattern.parseCount());
+        assertEquals(2, pattern.parseFailures());
+        assertEquals(3, pattern.parseLatency().count());
+        assertEquals(1, pattern.formatCount());
+        assertEquals(1, pattern.cacheMisses());
+        assertEquals(3, pattern.cacheHits());
+    }
+
+    @Test
+    public void testRangeElements() {
+        Recording recording = (Recording) Zoro.listener();
+        Zoro start = Zoro.parse("2021-03-14 00:00:00", Zoro.NORMAL_DATETIME_PATTERN);
+        Zoro third = Zoro.parse("2021-03-17 00:00:00", Zoro.NORMAL_DATETIME_PATTERN);
+        Range range = Zoro.range(start, Zoro.parse("2021-03-24 00:00:00", Zoro.NORMAL_DATETIME_PATTERN), DateUnit.DAY);
+
+        long before = elements(recording);
+        int calls = recording.rangeCalls.get();
+        range.forEach(zoro -> {
+        });
+        assertEquals(11, elements(recording) - before);
+        assertEquals(calls + 1, recording.rangeCalls.get());
+
+        assertEquals(11, range.stream().collect(Collectors.toList()).size());
+        assertEquals(22, elements(recording) - before);
+        assertEquals(calls + 2, recording.rangeCalls.get());
+
+        // 列表的查找不是产出元素
+        assertTrue(range.asList().contains(third));
+        assertEquals(3, range.asList().indexOf(third));
+        assertEquals(22, elements(recording) - before);
+        assertEquals(calls + 2, recording.rangeCalls.get());
+
+        range.iterator().next();
+        assertEquals(23, elements(recording) - before);
+    }
+
+    private static long elements(Recording recording) {
+        return recording.metrics.snapshot().rangeElements().get(DateUnit.DAY);
+    }
+
+    /**
+     * 转发给 {@link ZoroMetrics}，另外记录范围元素的通知次数，用于确认按批通知
+     */
+    public static final class Recording implements ZoroListener {
+
+        final ZoroMetrics metrics = new ZoroMetrics(1);
+        final AtomicInteger rangeCalls = new AtomicInteger();
+
+        @Override
+        public void onParse(String pattern, boolean success, long nanos) {
+            metrics.onParse(pattern, success, nanos);
+        }
+
+        @Override
+        public void onFormat(String pattern, long nanos) {
+            metrics.onFormat(pattern, nanos);
+        }
+
+        @Override
+        public void onFormatterCache(String pattern, boolean hit) {
+            metrics.onFormatterCache(pattern, hit);
+        }
+
+        @Override
+        public void onRangeElements(DateUnit unit, long count) {
+            rangeCalls.incrementAndGet();
+            metrics.onRangeElements(unit, count);
+        }
+
+    }
+
+}
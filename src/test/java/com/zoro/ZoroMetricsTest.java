@@ -0,0 +1,66 @@
+package com.zoro;
+
+import com.zoro.time.DateUnit;
+import com.zoro.time.Zoro;
+import com.zoro.time.ZoroMetrics;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ZoroMetricsTest {
+
+    private static final String PATTERN = "yyyy/MM/dd HH:mm";
+
+    @Test
+    public void testListener() {
+        // 测试 JVM 中没有配置监听器，各处埋点走默认的关闭路径
+        assertFalse(Zoro.listener() instanceof ZoroMetrics);
+        Zoro start = Zoro.parse("2021/03/14 02:30", PATTERN);
+        assertEquals(11, Zoro.range(start, Zoro.parse("2021/03/24 02:30", PATTERN), DateUnit.DAY).stream().count());
+    }
+
+    @Test
+    public void testCallbacks() {
+        ZoroMetrics metrics = new ZoroMetrics(1);
+        metrics.onParse(PATTERN, true, 1000);
+        metrics.onParse(PATTERN, true, 2000);
+        metrics.onParse(PATTERN, false, 3000);
+        metrics.onFormat(PATTERN, 500);
+        metrics.onFormatterCache(PATTERN, false);
+        metrics.onFormatterCache(PATTERN, true);
+        metrics.onFormatterCache(PATTERN, true);
+        metrics.onRangeElements(DateUnit.DAY, 11);
+        metrics.onRangeElements(DateUnit.DAY, 1);
+
+        ZoroMetrics.Snapshot snapshot = metrics.snapshot();
+        ZoroMetrics.PatternSnapshot pattern = snapshot.patterns().get(PATTERN);
+        assertEquals(3, pattern.parseCount());
+        assertEquals(1, pattern.parseFailures());
+        assertEquals(3, pattern.parseLatency().count());
+        assertEquals(1, pattern.formatCount());
+        assertEquals(2, pattern.cacheHits());
+        assertEquals(1, pattern.cacheMisses());
+        assertEquals(12, (long) snapshot.rangeElements().get(DateUnit.DAY));
+        assertEquals(0, (long) snapshot.rangeElements().get(DateUnit.HOUR));
+    }
+
+    @Test
+    public void testHistogram() {
+        ZoroMetrics metrics = new ZoroMetrics(1);
+        for (int i = 1; i <= 1000; i++) {
+            metrics.onParse(PATTERN, true, i * 1000L);
+        }
+        ZoroMetrics.Histogram latency = metrics.snapshot().patterns().get(PATTERN).parseLatency();
+        assertEquals(1000, latency.count());
+        long p50 = latency.percentile(50);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 5 / 4);
+        long max = latency.max();
+        assertTrue(max >= 1_000_000 && max <= 1_000_000 * 5 / 4);
+        for (int bucket = 0; bucket < 200; bucket++) {
+            assertEquals(ZoroMetrics.Histogram.upperBound(bucket) + 1, ZoroMetrics.Histogram.lowerBound(bucket + 1));
+        }
+    }
+
+}
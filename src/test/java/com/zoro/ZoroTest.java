@@ -1,30 +1,49 @@
 package com.zoro;
 
 import com.zoro.time.DateUnit;
+import com.zoro.time.DiffLocale;
+import com.zoro.time.FormatterCacheStats;
+import com.zoro.time.ImmutableZoro;
+import com.zoro.time.Range;
 import com.zoro.time.Zoro;
+import com.zoro.time.ZoroParser;
 import org.junit.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Time;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ZoroTest {
 
@@ -94,12 +113,417 @@ public class ZoroTest {
         assertEquals(LocalDate.of(2021, 6, 1), zoro.toLocalDate());
     }
 
+    @Test
+    public void testParse() {
+        String[] texts = {"20210101121212", "20200229235959", "20210229000000", "20211301000000", "00000101000000",
+            "20210101240000", "2021010112121", "2021010112121a"};
+        for (String text : texts) {
+            LocalDateTime expected;
+            try {
+                expected = LocalDateTime.parse(text, DateTimeFormatter.ofPattern(Zoro.PURE_DATETIME_PATTERN));
+            } catch (DateTimeParseException e) {
+                try {
+                    Zoro.parse(text, Zoro.PURE_DATETIME_PATTERN);
+                    fail(text);
+                } catch (DateTimeParseException actual) {
+                    assertEquals(e.getMessage(), actual.getMessage());
+                }
+                continue;
+            }
+            assertEquals(expected, Zoro.parse(text, Zoro.PURE_DATETIME_PATTERN).toLocalDateTime());
+        }
+
+        assertEquals(LocalDateTime.of(2021, 2, 3, 4, 5, 6),
+            Zoro.parse("2021-02-03 04:05:06", Zoro.NORMAL_DATETIME_PATTERN).toLocalDateTime());
+        assertEquals(LocalDate.of(2021, 2, 3), Zoro.parse("2021-02-03", Zoro.NORMAL_DATE_PATTERN).toLocalDate());
+        assertEquals(LocalDate.of(2021, 2, 3), Zoro.parse("20210203", Zoro.PURE_DATE_PATTERN).toLocalDate());
+        assertEquals(LocalTime.of(4, 5, 6), Zoro.parse("04:05:06", Zoro.NORMAL_TIME_PATTERN).toLocalTime());
+        assertEquals(LocalTime.of(4, 5, 6), Zoro.parse("040506", Zoro.TIME_PATTERN).toLocalTime());
+    }
+
+    @Test
+    public void testParseZone() {
+        String[][] cases = {
+            {"2021/03/14 10:15:30 Asia/Tokyo", "yyyy/MM/dd HH:mm:ss VV"},
+            {"14.03.2021 10:15 +0530", "dd.MM.yyyy HH:mm Z"},
+            {"20210314101530-0700", "yyyyMMddHHmmssxx"},
+            // 夏令时重叠中的第二个 01:30，由偏移量区分
+            {"2021-11-07 01:30:00 -08:00 America/Los_Angeles", "yyyy-MM-dd HH:mm:ss xxx VV"},
+            {"2021-11-07 01:30:00 -07:00 America/Los_Angeles", "yyyy-MM-dd HH:mm:ss xxx VV"}};
+        for (String[] c : cases) {
+            ZonedDateTime expected = ZonedDateTime.parse(c[0], DateTimeFormatter.ofPattern(c[1]));
+            assertEquals(c[0], expected, Zoro.parse(c[0], c[1]).toZonedDateTime());
+        }
+
+        // 只有时区没有时间的模式，缺少的部分取当前时间，时区仍取自文本
+        assertEquals(ZoneId.of("Europe/Paris"), Zoro.parse("2021-03-14 Europe/Paris", "yyyy-MM-dd VV").zone());
+
+        // 以前忽略文本中的偏移量，按本地时区解释本地时间；现在保留偏移量，本地时间不变
+        Zoro zoned = Zoro.parse("2021-03-14 10:15 +0800", "yyyy-MM-dd HH:mm Z");
+        ZonedDateTime previous = LocalDateTime.of(2021, 3, 14, 10, 15).atZone(ZoneId.systemDefault());
+        assertEquals(ZonedDateTime.of(2021, 3, 14, 10, 15, 0, 0, ZoneOffset.ofHours(8)), zoned.toZonedDateTime());
+        assertEquals(previous.toLocalDateTime(), zoned.toLocalDateTime());
+        assertEquals(previous.getOffset().equals(ZoneOffset.ofHours(8)), previous.toInstant().equals(zoned.toInstant()));
+    }
+
+    @Test
+    public void testFormat() {
+        Zoro zoro = Zoro.create(2021, 2, 3, 4, 5, 6, 78);
+        String[] patterns = {Zoro.PURE_DATE_PATTERN, Zoro.PURE_DATETIME_PATTERN, Zoro.NORMAL_DATE_PATTERN,
+            Zoro.NORMAL_DATETIME_PATTERN, Zoro.TIME_PATTERN, Zoro.NORMAL_TIME_PATTERN, "yyyy/M/d H:m:s.SSS",
+            "uuuu-MM-dd'T'HH:mm:ss.SSSSSS", "'at' HH 'o''clock'''", "yyyy-MM-dd EEE", "[yyyy]"};
+        StringBuilder buf = new StringBuilder();
+        for (String pattern : patterns) {
+            String expected = DateTimeFormatter.ofPattern(pattern).format(zoro.toZonedDateTime());
+            assertEquals(expected, zoro.format(pattern));
+            buf.setLength(0);
+            zoro.formatTo(pattern, buf);
+            assertEquals(expected, buf.toString());
+        }
+    }
+
+    @Test
+    public void testTryParse() {
+        ParsePosition position = new ParsePosition(0);
+        assertEquals(Zoro.parse("2021-02-03 04:05:06", Zoro.NORMAL_DATETIME_PATTERN),
+            Zoro.tryParse("2021-02-03 04:05:06", Zoro.NORMAL_DATETIME_PATTERN, position));
+        assertEquals(19, position.getIndex());
+        assertEquals(-1, position.getErrorIndex());
+
+        assertNull(Zoro.tryParse("2021-02-0x 04:05:06", Zoro.NORMAL_DATETIME_PATTERN, position));
+        assertEquals(8, position.getErrorIndex());
+        assertNull(Zoro.tryParse("2021-02-03 04:05:06 UTC", Zoro.NORMAL_DATETIME_PATTERN, position));
+        assertEquals(19, position.getErrorIndex());
+        assertNull(Zoro.tryParse("2021-13-03 04:05:06", Zoro.NORMAL_DATETIME_PATTERN, position));
+        assertEquals(0, position.getErrorIndex());
+        assertNull(Zoro.tryParse(null, Zoro.NORMAL_DATETIME_PATTERN));
+
+        assertEquals(LocalDateTime.of(2021, 2, 4, 0, 0, 0),
+            Zoro.tryParse("2021-02-03 24:00:00", Zoro.NORMAL_DATETIME_PATTERN, position).toLocalDateTime());
+        assertEquals(LocalDate.of(2021, 2, 3), Zoro.tryParse("2021/2/3", "yyyy/M/d").toLocalDate());
+        assertEquals(LocalTime.of(4, 5), Zoro.tryParse("4:05", "H:mm").toLocalTime());
+
+        // 越界的字段、SMART 规则下的月末和 24 时，结果与抛出异常的 parse 一致
+        String[] values = {"2021-02-03 04:05:06", "2021-13-03 04:05:06", "2021-02-30 04:05:06",
+            "2020-02-30 04:05:06", "2021-04-31 04:05:06", "2021-02-32 04:05:06", "0000-02-03 04:05:06",
+            "2021-02-03 25:05:06", "2021-02-03 24:00:00", "2021-02-03 24:00:01", "2021-02-03 04:60:06",
+            "2021-02-03 04:05:60"};
+        String[] patterns = {Zoro.NORMAL_DATETIME_PATTERN, "yyyy-MM-dd HH:mm:ss", "uuuu-MM-dd HH:mm:ss",
+            "yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd HH:mm:ssXXX", "yyyy-MM-dd HH:mm:ss EEE", "HH:mm:ss"};
+        String[] suffixes = {"", "", "", ".123", "+08:00", " Wed", ""};
+        for (int i = 0; i < patterns.length; i++) {
+            for (String value : values) {
+                String text = patterns[i].startsWith("HH") ? value.substring(11) : value + suffixes[i];
+                Zoro expected;
+                try {
+                    expected = Zoro.parse(text, patterns[i]);
+                } catch (DateTimeParseException e) {
+                    expected = null;
+                }
+                Zoro actual = Zoro.tryParse(text, patterns[i], position);
+                String message = patterns[i] + " " + text;
+                if (expected == null || actual == null) {
+                    assertEquals(message, expected, actual);
+                    assertEquals(message, expected == null ? 0 : -1, position.getErrorIndex());
+                } else if (patterns[i].startsWith("HH")) {
+                    assertEquals(message, expected.toLocalTime(), actual.toLocalTime());
+                } else {
+                    assertEquals(message, expected.toZonedDateTime(), actual.toZonedDateTime());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParseAuto() {
+        assertEquals(LocalDate.of(2021, 2, 3), Zoro.parseAuto("20210203").toLocalDate());
+        assertEquals(LocalDate.of(2021, 2, 3), Zoro.parseAuto("2021-02-03").toLocalDate());
+        assertEquals(LocalTime.of(4, 5, 6), Zoro.parseAuto("04:05:06").toLocalTime());
+        assertEquals(Zoro.parse("20210203040506", Zoro.PURE_DATETIME_PATTERN), Zoro.parseAuto("20210203040506"));
+        assertEquals(Zoro.parse("2021-02-03 04:05:06", Zoro.NORMAL_DATETIME_PATTERN),
+            Zoro.parseAuto("2021-02-03 04:05:06"));
+        assertEquals(ZonedDateTime.of(2021, 3, 14, 10, 15, 30, 0, ZoneOffset.ofHours(8)),
+            Zoro.parseAuto("2021-03-14T10:15:30+08:00").toZonedDateTime());
+        assertEquals(ZonedDateTime.of(2021, 3, 14, 10, 15, 30, 123_000_000, ZoneOffset.UTC),
+            Zoro.parseAuto("2021-03-14T10:15:30.123Z").toZonedDateTime());
+        assertEquals(1615716930123L, Zoro.parseAuto("1615716930123").timestamp());
+        assertEquals(1615716930000L, Zoro.parseAuto("1615716930").timestamp());
+        for (String ambiguous : new String[]{"16157169301", "161571693012", "16157169301234"}) {
+            try {
+                Zoro.parseAuto(ambiguous);
+                fail(ambiguous);
+            } catch (DateTimeParseException e) {
+                // 11、12 位的时间戳无法确定单位，14 位的数字不是合法的日期时间
+            }
+        }
+        try {
+            Zoro.parseAuto("2021/02/03");
+            fail();
+        } catch (DateTimeParseException e) {
+            assertEquals(0, e.getErrorIndex());
+        }
+
+        ZoroParser parser = ZoroParser.create();
+        assertEquals(Zoro.parseAuto("2021-02-03 04:05:06"), parser.parse("2021-02-03 04:05:06"));
+        assertEquals(Zoro.NORMAL_DATETIME_PATTERN, parser.lastPattern());
+        assertNull(parser.tryParse("2021-13-03 04:05:06"));
+        assertEquals(Zoro.NORMAL_DATETIME_PATTERN, parser.lastPattern());
+        assertEquals(1615716930123L, parser.parse("1615716930123").timestamp());
+        assertNull(parser.lastPattern());
+        assertNull(parser.tryParse("yesterday"));
+    }
+
+    @Test
+    public void testBytes() {
+        String[] texts = {"2021-02-03 04:05:06", "2021-02-30 04:05:06", "2021-02-32 04:05:06",
+            "2021-03-14T10:15:30.123+08:00", "2021-03-14T10:15:30.123Z", "2021-03-14T10:15:30.123-07:00",
+            "2021-03-14T10:15:30.12Z", "2021-03-14T10:15:30.123+19:00", "2021-04-31T10:15:30.123Z"};
+        String[] patterns = {Zoro.NORMAL_DATETIME_PATTERN, Zoro.NORMAL_DATETIME_PATTERN, Zoro.NORMAL_DATETIME_PATTERN,
+            Zoro.ISO_DATETIME_PATTERN, Zoro.ISO_DATETIME_PATTERN, Zoro.ISO_DATETIME_PATTERN,
+            Zoro.ISO_DATETIME_PATTERN, Zoro.ISO_DATETIME_PATTERN, Zoro.ISO_DATETIME_PATTERN};
+        for (int i = 0; i < texts.length; i++) {
+            byte[] bytes = ("<" + texts[i] + ">").getBytes(StandardCharsets.US_ASCII);
+            Zoro expected;
+            try {
+                expected = Zoro.parse(texts[i], patterns[i]);
+            } catch (DateTimeParseException e) {
+                try {
+                    Zoro.parse(bytes, 1, texts[i].length(), patterns[i]);
+                    fail(texts[i]);
+                } catch (DateTimeParseException actual) {
+                    assertEquals(e.getMessage(), actual.getMessage());
+                }
+                continue;
+            }
+            assertEquals(expected, Zoro.parse(bytes, 1, texts[i].length(), patterns[i]));
+            assertEquals(expected, Zoro.parse(ByteBuffer.wrap(bytes), 1, texts[i].length(), patterns[i]));
+        }
+        assertEquals(ZonedDateTime.of(2021, 3, 14, 10, 15, 30, 123_000_000, ZoneOffset.ofHours(8)),
+            Zoro.parse("2021-03-14T10:15:30.123+08:00", Zoro.ISO_DATETIME_PATTERN).toZonedDateTime());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        for (ZoneId zone : new ZoneId[]{Zoro.UTC, Zoro.PST, ZoneId.of("Asia/Kolkata")}) {
+            Zoro zoro = Zoro.create(2021, 2, 3, 4, 5, 6, 78, zone);
+            for (String pattern : new String[]{Zoro.ISO_DATETIME_PATTERN, Zoro.NORMAL_DATETIME_PATTERN,
+                "yyyy-MM-dd EEE"}) {
+                buffer.clear();
+                zoro.formatTo(pattern, buffer);
+                buffer.flip();
+                assertEquals(zoro.format(pattern), StandardCharsets.US_ASCII.decode(buffer).toString());
+            }
+        }
+
+        buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) '!');
+        try {
+            Zoro.now().formatTo(Zoro.NORMAL_DATETIME_PATTERN, buffer);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertEquals(1, buffer.position());
+        }
+    }
+
+    @Test
+    public void testFormatterCache() {
+        Zoro.formatterCacheMaximumSize(4);
+        try {
+            Zoro zoro = Zoro.now();
+            FormatterCacheStats before = Zoro.formatterCacheStats();
+            for (int i = 0; i < 10; i++) {
+                zoro.format("yyyy'" + i + "'");
+                zoro.format("yyyy'hot'");
+            }
+            FormatterCacheStats after = Zoro.formatterCacheStats();
+            assertTrue(after.size() <= 4);
+            assertTrue(after.evictionCount() - before.evictionCount() >= 7);
+            assertEquals(11, after.missCount() - before.missCount());
+            assertEquals(9, after.hitCount() - before.hitCount());
+
+            zoro.format(Zoro.NORMAL_DATETIME_PATTERN);
+            assertEquals(after.missCount(), Zoro.formatterCacheStats().missCount());
+        } finally {
+            Zoro.formatterCacheMaximumSize(256);
+        }
+    }
+
     @Test
     public void testTimestamp() {
         Zoro now = Zoro.now();
         assertTrue(System.currentTimeMillis() - now.timestamp() < 10);
     }
 
+    @Test
+    public void testCachedClock() throws InterruptedException {
+        Zoro.useCachedClock(Duration.ofMillis(5));
+        try {
+            Thread.sleep(20);
+            assertTrue(Math.abs(System.currentTimeMillis() - Zoro.now().timestamp()) < 100);
+            Zoro pst = Zoro.now(Zoro.PST);
+            assertEquals(Zoro.PST, pst.zone());
+            assertTrue(Math.abs(System.currentTimeMillis() - pst.timestamp()) < 100);
+        } finally {
+            Zoro.usePreciseClock();
+        }
+    }
+
+    @Test
+    public void testDiff() {
+        List<ZonedDateTime> dates = new ArrayList<>();
+        for (ZoneId zone : new ZoneId[]{Zoro.PST, Zoro.UTC, ZoneId.of("Australia/Lord_Howe")}) {
+            dates.add(ZonedDateTime.of(2021, 1, 31, 10, 0, 0, 0, zone));
+            dates.add(ZonedDateTime.of(2021, 2, 28, 9, 59, 59, 999_999_999, zone));
+            dates.add(ZonedDateTime.of(2021, 3, 1, 10, 0, 0, 0, zone));
+            dates.add(ZonedDateTime.of(2021, 3, 14, 1, 30, 0, 0, zone));
+            dates.add(ZonedDateTime.of(2021, 3, 14, 3, 30, 0, 1, zone));
+            dates.add(ZonedDateTime.of(2021, 11, 7, 1, 30, 0, 0, zone).withLaterOffsetAtOverlap());
+            dates.add(ZonedDateTime.of(2021, 11, 7, 1, 30, 0, 0, zone).withEarlierOffsetAtOverlap());
+            dates.add(ZonedDateTime.of(2020, 2, 29, 0, 0, 0, 0, zone));
+            dates.add(ZonedDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000, zone));
+            dates.add(ZonedDateTime.of(1850, 6, 30, 12, 0, 0, 0, zone));
+            dates.add(ZonedDateTime.of(2300, 6, 30, 12, 0, 0, 0, zone));
+        }
+        Random random = new Random(11);
+        long from = dates.get(0).toEpochSecond() - 5L * 365 * 86400;
+        for (int i = 0; i < 300; i++) {
+            long second = from + (long) (random.nextDouble() * 10 * 365 * 86400);
+            dates.add(Instant.ofEpochSecond(second, random.nextInt(1000_000_000)).atZone(i % 2 == 0 ? Zoro.PST : Zoro.SHANG_HAI));
+        }
+        for (ZonedDateTime start : dates) {
+            Zoro zoro = Zoro.create(start);
+            for (ZonedDateTime end : dates) {
+                Zoro other = Zoro.create(end);
+                assertEquals(ChronoUnit.YEARS.between(start, end), zoro.diffOfYears(other));
+                assertEquals(ChronoUnit.MONTHS.between(start, end), zoro.diffOfMonths(other));
+                assertEquals(ChronoUnit.WEEKS.between(start, end), zoro.diffOfWeeks(other));
+                assertEquals(ChronoUnit.DAYS.between(start, end), zoro.diffOfDays(other));
+                assertEquals(ChronoUnit.HOURS.between(start, end), zoro.diffOfHours(other));
+                assertEquals(ChronoUnit.MINUTES.between(start, end), zoro.diffOfMinutes(other));
+                assertEquals(ChronoUnit.SECONDS.between(start, end), zoro.diffOfSeconds(other));
+            }
+        }
+    }
+
+    @Test
+    public void testDiffForHumans() {
+        Zoro base = Zoro.create(2021, 3, 14, 1, 30, 0, 0, Zoro.PST);
+        assertEquals("1 hour after", Zoro.create(2021, 3, 14, 3, 30, 0, 0, Zoro.PST).diffForHumans(base));
+        assertEquals("2 days before", Zoro.create(2021, 3, 12, 1, 0, 0, 0, Zoro.PST).diffForHumans(base));
+        assertEquals("1 month after", Zoro.create(2021, 4, 14, 1, 30, 0, 0, Zoro.PST).diffForHumans(base));
+        assertEquals("1 second before", Zoro.create(base).diffForHumans(base));
+        assertEquals("3年后", Zoro.create(2024, 3, 14, 1, 30, 0, 0, Zoro.PST).diffForHumans(base, DiffLocale.CHINESE));
+        assertEquals("3 minutes ago", Zoro.create(System.currentTimeMillis() - 200_000).diffForHumans());
+        assertEquals("2 hours from now", Zoro.create(System.currentTimeMillis() + 9_000_000).diffForHumans());
+
+        DiffLocale french = DiffLocale.of(
+            new String[]{"{0} an", "{0} mois", "{0} jour", "{0} heure", "{0} minute", "{0} seconde"},
+            new String[]{"{0} ans", "{0} mois", "{0} jours", "{0} heures", "{0} minutes", "{0} secondes"},
+            "il y a {0}", "dans {0}", "{0} avant", "{0} après");
+        DiffLocale.register(Locale.FRENCH, french);
+        StringBuilder builder = new StringBuilder("[");
+        Zoro.create(2021, 3, 15, 1, 0, 0, 0, Zoro.PST).diffForHumansTo(base, DiffLocale.forLocale(Locale.FRANCE), builder);
+        assertEquals("[22 heures après", builder.toString());
+        assertEquals(DiffLocale.CHINESE, DiffLocale.forLocale(Locale.SIMPLIFIED_CHINESE));
+        assertEquals(DiffLocale.ENGLISH, DiffLocale.forLocale(Locale.JAPANESE));
+
+        Random random = new Random(7);
+        long from = base.timestamp() - 3L * 365 * 86400_000;
+        for (int i = 0; i < 20_000; i++) {
+            long span = i % 2 == 0 ? 4L * 365 * 86400_000 : 3L * 86400_000;
+            Zoro start = Zoro.create(from + (long) (random.nextDouble() * span), Zoro.PST);
+            Zoro end = Zoro.create(from + (long) (random.nextDouble() * span), i % 3 == 0 ? Zoro.UTC : Zoro.PST);
+            assertEquals(expectedDiff(end, start), end.diffForHumans(start));
+        }
+    }
+
+    private static String expectedDiff(Zoro zoro, Zoro other) {
+        ZonedDateTime start = other.toZonedDateTime();
+        ZonedDateTime end = zoro.toZonedDateTime();
+        String[] names = {"year", "month", "day", "hour", "minute", "second"};
+        ChronoUnit[] units = {ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.DAYS, ChronoUnit.HOURS,
+            ChronoUnit.MINUTES, ChronoUnit.SECONDS};
+        long count = 0;
+        int unit = 0;
+        for (; unit < units.length; unit++) {
+            count = units[unit].between(end, start);
+            if (count != 0) {
+                break;
+            }
+        }
+        if (count == 0) {
+            return "1 second before";
+        }
+        long n = Math.abs(count);
+        return n + " " + names[unit] + (n == 1 ? "" : "s") + (count < 0 ? " after" : " before");
+    }
+
+    @Test
+    public void testImmutable() {
+        Zoro zoro = Zoro.create(2021, 1, 31, 10, 20, 30, 400, Zoro.PST).firstDayOfWeek(DayOfWeek.SUNDAY);
+        ImmutableZoro immutable = zoro.toImmutable();
+        assertEquals(zoro.toZonedDateTime(), immutable.toZonedDateTime());
+        assertEquals(DayOfWeek.SUNDAY, immutable.firstDayOfWeek());
+        assertEquals(zoro.weekOfYear(), immutable.weekOfYear());
+        assertEquals(zoro, immutable.toZoro());
+
+        ImmutableZoro next = immutable.addMonths(1).withHour(0);
+        assertEquals(ZonedDateTime.of(2021, 1, 31, 10, 20, 30, 400_000_000, Zoro.PST), immutable.toZonedDateTime());
+        assertEquals(ZonedDateTime.of(2021, 2, 28, 0, 20, 30, 400_000_000, Zoro.PST), next.toZonedDateTime());
+        assertEquals(DayOfWeek.SUNDAY, next.firstDayOfWeek());
+        assertEquals(0, immutable.diffOfMonths(next));
+        assertEquals(27, immutable.diffOfDays(next));
+        assertEquals("27 days after", next.diffForHumans(immutable, DiffLocale.ENGLISH));
+        assertEquals("2021-02-28 00:20:30", next.format(Zoro.NORMAL_DATETIME_PATTERN));
+        assertTrue(immutable.isBefore(next));
+        assertEquals(immutable, immutable.withZoneId(Zoro.PST));
+        assertEquals(immutable.timestamp(), immutable.withZoneId(Zoro.SHANG_HAI).timestamp());
+        assertEquals(ImmutableZoro.create(immutable.timestamp(), Zoro.PST).toInstant(), immutable.toInstant());
+        assertEquals("27 days before", immutable.diffForHumans(next));
+        assertTrue(immutable.isSameTime(immutable.addDays(3).addNanos(1)));
+        assertFalse(immutable.isSameTime(immutable.addNanos(1), true));
+        assertFalse(immutable.isSameTime(next));
+        assertEquals(zoro.toCalendar(), immutable.toCalendar());
+        assertEquals(4, immutable.minimalDaysInFirstWeek(4).toCalendar().getMinimalDaysInFirstWeek());
+        try {
+            immutable.minimalDaysInFirstWeek(8);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("minimalDaysInFirstWeek: 8", e.getMessage());
+        }
+
+        Range range = ImmutableZoro.range(immutable, next, DateUnit.DAY);
+        List<ImmutableZoro> days = new ArrayList<>();
+        for (ImmutableZoro day : range.immutables()) {
+            days.add(day);
+        }
+        assertEquals(range.size(), days.size());
+        assertEquals(range.stream().map(Zoro::toImmutable).collect(Collectors.toList()), days);
+        assertEquals(days, range.immutableStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCompare() {
+        Zoro a = Zoro.create(2021, 1, 1, 8, 0, 0, 1, Zoro.SHANG_HAI);
+        Zoro b = Zoro.create(2021, 1, 1, 0, 0, 0, 1, Zoro.UTC).addNanos(10);
+        assertEquals(0, a.compareTo(b));
+        assertTrue(a.compareTo(b, true) < 0);
+        assertTrue(a.isBefore(b));
+        assertTrue(Zoro.BY_INSTANT.compare(a, b) < 0);
+        assertTrue(Zoro.BY_LOCAL_DATE_TIME.compare(a, b) > 0);
+
+        List<Zoro> list = new ArrayList<>(Arrays.asList(b, a));
+        list.sort(Zoro.BY_INSTANT);
+        assertEquals(Arrays.asList(a, b), list);
+
+        Zoro c = Zoro.create(a);
+        assertEquals(a.hashCode(), c.hashCode());
+        assertEquals(a, c);
+        c.addDays(1);
+        assertFalse(a.equals(c));
+        assertEquals(c.toZonedDateTime().hashCode(), c.hashCode());
+        c.addDays(-1);
+        assertEquals(a, c);
+    }
+
     @Test
     public void testRange() {
         Zoro start = Zoro.create(2020, 1, 31, 10, 0, 10, 0);
@@ -115,6 +539,61 @@ public class ZoroTest {
         assertArrayEquals(new String[]{"2020", "2021"}, list.toArray(new String[0]));
     }
 
+    @Test
+    public void testRangeStream() {
+        Zoro start = Zoro.create(2021, 3, 1, 2, 30, 0, 0, Zoro.PST);
+        Zoro end = Zoro.create(2021, 4, 1, 2, 0, 0, 0, Zoro.PST);
+        for (DateUnit unit : new DateUnit[]{DateUnit.DAY, DateUnit.HOUR, DateUnit.MINUTE, DateUnit.MONTH}) {
+            List<Zoro> expected = new ArrayList<>();
+            for (Zoro zoro : Zoro.range(start, end, unit)) {
+                expected.add(zoro);
+            }
+            assertEquals(expected, Zoro.range(start, end, unit).stream().collect(Collectors.toList()));
+            assertEquals(expected, Zoro.range(start, end, unit).parallelStream().collect(Collectors.toList()));
+        }
+        assertEquals(31, Zoro.range(start, end, DateUnit.DAY).stream().count());
+        assertEquals(31 * 24 - 1, Zoro.range(start, end, DateUnit.HOUR).stream().count());
+        assertEquals(0, Zoro.range(end, start, DateUnit.SECOND).stream().count());
+    }
+
+    @Test
+    public void testRangeIndex() {
+        Zoro start = Zoro.create(2021, 1, 31, 10, 0, 0, 0, Zoro.PST);
+        Zoro end = Zoro.create(2021, 12, 31, 10, 0, 0, 0, Zoro.PST);
+        Range months = Zoro.range(start, end, DateUnit.MONTH);
+        assertEquals(12, months.size());
+        assertEquals(LocalDate.of(2021, 2, 28), months.get(1).toLocalDate());
+        assertEquals(LocalDate.of(2021, 3, 31), months.get(2).toLocalDate());
+        assertEquals(2, months.indexOf(Zoro.create(2021, 3, 31, 10, 0, 0, 0, Zoro.PST)));
+        assertFalse(months.contains(Zoro.create(2021, 3, 30, 10, 0, 0, 0, Zoro.PST)));
+        ZonedDateTime leapDay = ZonedDateTime.of(2020, 2, 29, 2, 30, 0, 0, Zoro.PST);
+        Range years = Zoro.range(Zoro.create(leapDay), Zoro.create(2230, 1, 1, 0, 0, 0, 0, Zoro.PST), DateUnit.YEAR);
+        assertEquals(210, years.size());
+        for (int i = 0; i < years.size(); i++) {
+            assertEquals(leapDay.plusYears(i), years.get(i).toZonedDateTime());
+        }
+
+        Range hours = Zoro.range(start, end, DateUnit.HOUR);
+        List<Zoro> list = hours.asList();
+        assertEquals(hours.size(), list.size());
+        assertEquals(334 * 24 + 1, hours.size());
+        for (int i = 0; i < list.size(); i += 97) {
+            Zoro zoro = list.get(i);
+            assertEquals(i, list.indexOf(zoro));
+            assertEquals(i, hours.indexOf(Zoro.create(zoro, Zoro.UTC)));
+            assertEquals(-1, list.indexOf(Zoro.create(zoro, Zoro.UTC)));
+        }
+        assertEquals(-1, hours.indexOf(Zoro.create(start).addMinutes(30)));
+
+        Range days = Zoro.range(start, end, DateUnit.DAY);
+        long index = 0;
+        for (Zoro zoro : days) {
+            assertEquals(zoro, days.get(index));
+            assertEquals(index++, days.indexOf(zoro));
+        }
+        assertEquals(index, days.size());
+    }
+
     @Test
     public void testZone() {
         Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(Zoro.UTC));
@@ -128,6 +607,24 @@ public class ZoroTest {
         Zoro zoro = Zoro.create(2021, 1, 1, 15, 10, 10, 10, Zoro.UTC);
         zoro.withZoneId(Zoro.PST);
         assertEquals(calendar.get(Calendar.HOUR_OF_DAY), zoro.hour());
+
+        for (ZoneId zone : new ZoneId[]{Zoro.PST, Zoro.SHANG_HAI, Zoro.UTC, ZoneId.of("Europe/London")}) {
+            for (long timestamp = -2_300_000_000_000L; timestamp < 7_500_000_000_000L; timestamp += 7_777_777_777L) {
+                ZonedDateTime expected = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), zone);
+                assertEquals(expected, Zoro.create(timestamp, zone).toZonedDateTime());
+                assertEquals(expected, Zoro.create(timestamp, Zoro.UTC).withZoneId(zone).toZonedDateTime());
+            }
+        }
+
+        // 夏令时间隙和重叠中的本地时间按天迭代时与 ZonedDateTime.plusDays 一致
+        for (int hour : new int[]{1, 2}) {
+            Zoro start = Zoro.create(2021, 3, 10, hour, 30, 0, 0, Zoro.PST);
+            Zoro end = Zoro.create(2021, 11, 10, hour, 30, 0, 0, Zoro.PST);
+            int index = 0;
+            for (Zoro day : Zoro.range(start, end, DateUnit.DAY)) {
+                assertEquals(start.toZonedDateTime().plusDays(index++), day.toZonedDateTime());
+            }
+        }
     }
 
     @Test